@@ -1,34 +1,106 @@
 package controller;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JFileChooser;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import model.BulkImporter;
+import model.InventoryStats;
+import model.PagedRocketStore;
 import model.Rocket;
+import model.RocketExporter;
 import model.RocketFileManager;
 import model.RocketInventory;
+import model.RocketQuery;
+import model.RocketJournal;
+import model.SegmentedSnapshot;
+import model.WriteBehindPersister;
 import util.Validator;
 import view.AdminDashboardFrame;
+import view.RocketTableModel;
 
 public class RocketController {
 
     private final AdminDashboardFrame view;
-    private final RocketInventory inventory;
+    // Replaced once during startup in off-heap mode (see OFF_HEAP_ROWS)
+    private RocketInventory inventory;
 
     // Save in user home to avoid permission issues
     private final String DATA_FILE_PATH = "data/rocket_inventory.csv";
 
-    public RocketController(AdminDashboardFrame view) {
-        this.view = view;
-        this.inventory = new RocketInventory();
+    // Segmented binary store the app actually runs from (manifest; segment files
+    // live next to it). The CSV above is only imported (once, on first run) and
+    // stays available as an import/export format
+    private final String SNAPSHOT_FILE_PATH = "data/rocket_inventory.rks";
 
-        // Load persistent data (seed 5 if missing/empty)
-        loadRocketsOnStartup();
+    // Stores with at least this many rows open in paged mode: the table reads rows
+    // straight from disk while the full inventory loads in the background
+    private final int PAGED_STARTUP_ROWS = 250_000;
 
-        // Initial UI fill
-        refreshHome();
-        refreshTable(inventory.getAllRockets());
+    // Columnar mode (start with -Drocket.columnar=true): the heap inventory keeps one
+    // primitive array per field instead of one Rocket per row (smaller, and scans
+    // touch only the fields they read). Ignored in off-heap mode.
+    private final boolean COLUMNAR_ROWS = Boolean.getBoolean("rocket.columnar");
+
+    // Off-heap mode (start with -Drocket.offHeap=true): the inventory's rows live in
+    // a memory-mapped file instead of on the heap, and only its indexes are built in
+    // memory. The file is a working copy of the segmented store: reused when it was
+    // closed cleanly against the current snapshot, refilled from it otherwise. A
+    // first run (no segmented store yet) loads onto the heap and creates the store.
+    private final boolean OFF_HEAP_ROWS = Boolean.getBoolean("rocket.offHeap");
+    private final String OFF_HEAP_FILE_PATH = "data/rocket_inventory.rows";
+
+    // Journal mode: each change appends a small record instead of rewriting the data file
+    private final boolean USE_JOURNAL = true;
+    private RocketJournal journal;
+
+    // Journal records the loaded data already includes (replay skips them)
+    private long journalCutoff;
+
+    // Writes changes on a background thread so a slow disk never freezes the UI
+    private WriteBehindPersister persister;
+
+    // Rows are read from the shown list on demand (no per-row copies)
+    private final RocketTableModel tableModel = new RocketTableModel();
+
+    private JMenuItem importMenuItem;
+    private JMenuItem exportMenuItem;
+
+    public RocketController(AdminDashboardFrame view) {
+        this.view = view;
+        this.inventory = new RocketInventory(COLUMNAR_ROWS
+                ? RocketInventory.Storage.COLUMNAR : RocketInventory.Storage.OBJECTS);
+
+        // Keep the form's columns (widths etc.), swap in the list-backed model
+        view.getTblRockets().setAutoCreateColumnsFromModel(false);
+        view.getTblRockets().setModel(tableModel);
+
+        // File menu (bulk import, export)
+        registerFileMenu();
+
+        PagedRocketStore paged = openPagedStore(OFF_HEAP_ROWS ? 0 : PAGED_STARTUP_ROWS);
+        if (paged == null) {
+            // Load persistent data (seed 5 if missing/empty)
+            loadRocketsOnStartup();
+            finishStartup();
+        } else {
+            loadInBackground(paged);
+        }
 
         // CRUD listeners
         registerAdminControlListeners();
@@ -39,21 +111,139 @@ public class RocketController {
 
     // ========================= LOAD ON STARTUP =========================
 
+    private void finishStartup() {
+        if (USE_JOURNAL) {
+            openJournal();
+        }
+        startPersister();
+
+        // Initial UI fill
+        refreshHome();
+        refreshTable(inventory.viewAllRockets());
+    }
+
+    // Null unless the store has at least minRows rows (and is readable as such;
+    // anything odd is left to the normal load, which reports and recovers)
+    private PagedRocketStore openPagedStore(int minRows) {
+        if (!Files.exists(Path.of(SNAPSHOT_FILE_PATH))) return null;
+        try {
+            PagedRocketStore paged = RocketFileManager.openPaged(SNAPSHOT_FILE_PATH);
+            return (paged.size() >= minRows) ? paged : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    // Shows the first rows from disk right away; editing and searching wait until
+    // the full inventory (and its indexes) has been built on a worker thread.
+    // In off-heap mode the rows go to the mapped file instead of the heap
+    private void loadInBackground(PagedRocketStore paged) {
+        setControlsEnabled(false);
+        refreshTable(paged.asList());
+        view.getLblTotalRocketsValue().setText(String.valueOf(paged.size()));
+
+        new SwingWorker<List<String>, Void>() {
+            @Override
+            protected List<String> doInBackground() throws IOException {
+                // Nothing else touches the inventory until done()
+                if (OFF_HEAP_ROWS) {
+                    inventory = RocketInventory.openOffHeap(Path.of(OFF_HEAP_FILE_PATH), paged);
+                    journalCutoff = paged.getJournalCutoff();
+                    return new ArrayList<>();
+                }
+
+                List<String> problems = new ArrayList<>();
+                SegmentedSnapshot loaded = RocketFileManager.loadSegments(SNAPSHOT_FILE_PATH, problems);
+                journalCutoff = loaded.getJournalCutoff();
+                inventory.setAllRockets(loaded);
+                return problems;
+            }
+
+            @Override
+            protected void done() {
+                boolean recovered = false;
+                try {
+                    List<String> problems = get();
+                    if (!problems.isEmpty()) {
+                        showSkippedLines(problems);
+                    }
+                    recovered = inventory.hasUnsavedChanges();
+                } catch (InterruptedException | ExecutionException ex) {
+                    if (OFF_HEAP_ROWS) {
+                        Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                        JOptionPane.showMessageDialog(
+                                view,
+                                "Off-heap row file error.\nLoading the rockets into memory instead.\n\nDetails: " + cause.getMessage(),
+                                "File Load Error",
+                                JOptionPane.WARNING_MESSAGE
+                        );
+                    }
+                    // Same reporting and recovery as a normal startup
+                    loadRocketsOnStartup();
+                }
+
+                finishStartup();
+                if (recovered) {
+                    // Read from the previous copy: rewrite the store in the background
+                    // (with the journal just replayed into it, as a compaction)
+                    persistBulkChanges();
+                }
+                setControlsEnabled(true);
+            }
+        }.execute();
+    }
+
+    private void setControlsEnabled(boolean enabled) {
+        view.getBtnAddRocket().setEnabled(enabled);
+        view.getBtnUpdateRocket().setEnabled(enabled);
+        view.getBtnDeleteRocket().setEnabled(enabled);
+        view.getBtnClearForm().setEnabled(enabled);
+        view.getBtnBinarySearch().setEnabled(enabled);
+        view.getBtnPartialSearch().setEnabled(enabled);
+        view.getBtnResetSearch().setEnabled(enabled);
+        view.getBtnSortAsc().setEnabled(enabled);
+        view.getBtnSortDesc().setEnabled(enabled);
+        importMenuItem.setEnabled(enabled);
+    }
+
     private void loadRocketsOnStartup() {
+        boolean converting = !RocketFileManager.snapshotExists(SNAPSHOT_FILE_PATH);
+        String source = converting ? DATA_FILE_PATH : SNAPSHOT_FILE_PATH;
+
         try {
-            ArrayList<Rocket> loaded = RocketFileManager.loadFromFile(DATA_FILE_PATH);
+            List<String> problems = new ArrayList<>();
+            if (converting) {
+                inventory.setAllRockets(RocketFileManager.loadFromFile(DATA_FILE_PATH, problems));
+            } else {
+                SegmentedSnapshot loaded = RocketFileManager.loadSegments(SNAPSHOT_FILE_PATH, problems);
+                journalCutoff = loaded.getJournalCutoff();
+                inventory.setAllRockets(loaded);
+            }
 
-            if (loaded.isEmpty()) {
-                loaded = seedFiveDefaultRockets();
-                RocketFileManager.saveToFile(DATA_FILE_PATH, loaded);
+            if (!problems.isEmpty()) {
+                showSkippedLines(problems);
             }
 
-            inventory.setAllRockets(loaded);
+            if (inventory.getTotalCount() == 0) {
+                inventory.setAllRockets(seedFiveDefaultRockets());
+            }
+
+            if (converting) {
+                convertCsvToSnapshot();
+            } else if (inventory.hasUnsavedChanges()) {
+                // Seeded, or read from the previous copy: write every segment now
+                RocketFileManager.saveSegments(SNAPSHOT_FILE_PATH, inventory.takeChanges());
+            }
 
         } catch (IOException ex) {
+            // Don't reseed over a damaged store: keep it so it can be recovered by hand
+            String kept = converting ? preserveUnreadableDataFile(source) : preserveUnreadableStore();
+
             JOptionPane.showMessageDialog(
                     view,
-                    "File loading error (IOException).\nStarting with default 5 rockets.\n\nDetails: " + ex.getMessage(),
+                    "File loading error (IOException).\nStarting with default 5 rockets."
+                            + (kept == null ? "" : "\nThe unreadable file was kept as " + kept + ".")
+                            + "\n\nDetails: " + ex.getMessage(),
                     "File Load Error",
                     JOptionPane.ERROR_MESSAGE
             );
@@ -61,17 +251,6 @@ public class RocketController {
             ArrayList<Rocket> seeded = seedFiveDefaultRockets();
             inventory.setAllRockets(seeded);
 
-            try {
-                RocketFileManager.saveToFile(DATA_FILE_PATH, seeded);
-            } catch (IOException e2) {
-                JOptionPane.showMessageDialog(
-                        view,
-                        "File saving error (IOException).\nData may not persist.\n\nDetails: " + e2.getMessage(),
-                        "File Save Error",
-                        JOptionPane.ERROR_MESSAGE
-                );
-            }
-
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(
                     view,
@@ -84,7 +263,7 @@ public class RocketController {
             inventory.setAllRockets(seeded);
 
             try {
-                RocketFileManager.saveToFile(DATA_FILE_PATH, seeded);
+                RocketFileManager.saveSegments(SNAPSHOT_FILE_PATH, inventory.takeChanges());
             } catch (IOException e2) {
                 JOptionPane.showMessageDialog(
                         view,
@@ -96,6 +275,65 @@ public class RocketController {
         }
     }
 
+    // First run on the binary format: changes journaled against the CSV are
+    // replayed, the result is written as the binary snapshot, and only then is
+    // the old CSV journal removed (the CSV itself is left as it was)
+    private void convertCsvToSnapshot() throws IOException {
+        Path csvJournal = Path.of(DATA_FILE_PATH + ".journal");
+        if (Files.exists(csvJournal)) {
+            try (RocketJournal old = RocketJournal.open(DATA_FILE_PATH)) {
+                old.replayInto(inventory);
+            }
+        }
+
+        RocketFileManager.saveSegments(SNAPSHOT_FILE_PATH, inventory.takeChanges());
+        Files.deleteIfExists(csvJournal);
+    }
+
+    private String preserveUnreadableDataFile(String path) {
+        Path source = Path.of(path);
+        if (!Files.exists(source)) return null;
+
+        Path copy = Path.of(path + ".corrupt");
+        try {
+            Files.copy(source, copy, StandardCopyOption.REPLACE_EXISTING);
+            return copy.toString();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    // Every file of the segmented store is moved aside: segment files are shared
+    // between generations, so a copy of the manifest alone would not be enough
+    private String preserveUnreadableStore() {
+        try {
+            Path kept = RocketFileManager.moveStoreAside(SNAPSHOT_FILE_PATH);
+            return (kept == null) ? null : kept.toString();
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void showSkippedLines(List<String> problems) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(problems.size()).append(" line(s) in the data file were skipped:\n\n");
+
+        int shown = Math.min(10, problems.size());
+        for (int i = 0; i < shown; i++) {
+            sb.append(problems.get(i)).append("\n");
+        }
+        if (problems.size() > shown) {
+            sb.append("... and ").append(problems.size() - shown).append(" more.");
+        }
+
+        JOptionPane.showMessageDialog(
+                view,
+                sb.toString(),
+                "Data File Warning",
+                JOptionPane.WARNING_MESSAGE
+        );
+    }
+
     private ArrayList<Rocket> seedFiveDefaultRockets() {
         ArrayList<Rocket> list = new ArrayList<>();
 
@@ -111,19 +349,88 @@ public class RocketController {
         return list;
     }
 
-    private void saveAllRocketsToFile() {
+    // Replays changes journaled since the last snapshot on top of it
+    private void openJournal() {
         try {
-            RocketFileManager.saveToFile(DATA_FILE_PATH, inventory.getAllRockets());
+            journal = RocketJournal.open(SNAPSHOT_FILE_PATH);
+            journal.replayInto(inventory, journalCutoff);
         } catch (IOException ex) {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException ignored) {
+                    // Already reporting the original error
+                }
+            }
+            journal = null;
             JOptionPane.showMessageDialog(
                     view,
-                    "File saving error (IOException).\nYour changes may not persist.\n\nDetails: " + ex.getMessage(),
-                    "File Save Error",
+                    "Journal file error (IOException).\nChanges will be saved by rewriting the data file.\n\nDetails: " + ex.getMessage(),
+                    "Journal Error",
                     JOptionPane.ERROR_MESSAGE
             );
         }
     }
 
+    private void startPersister() {
+        persister = new WriteBehindPersister(journal, SNAPSHOT_FILE_PATH, this::reportBackgroundSaveError);
+
+        // Write out anything still queued when the window closes
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            boolean offHeap = inventory.isOffHeap();
+            boolean closed = false;
+            try {
+                if (offHeap && inventory.hasUnsavedChanges()) {
+                    // Save everything, so the row file can be reused as the snapshot's copy
+                    persister.submitDelta(inventory.takeChanges());
+                }
+                persister.close();
+                closed = true;
+            } catch (IOException ex) {
+                // Nothing left to report to at shutdown
+            }
+            if (offHeap) {
+                closeOffHeapRows(closed);
+            }
+        }, "rocket-persist-shutdown"));
+    }
+
+    // The row file is marked as a copy of the saved snapshot only if that
+    // snapshot holds every change; otherwise the next start refills it
+    private void closeOffHeapRows(boolean persisterClosed) {
+        try {
+            boolean saved = persisterClosed
+                    && RocketFileManager.isFullySaved(SNAPSHOT_FILE_PATH)
+                    && (journal == null || !journal.isCompacting());
+            inventory.closeOffHeap(saved ? RocketFileManager.openPaged(SNAPSHOT_FILE_PATH) : null);
+        } catch (IOException ex) {
+            // Still marked as modified: refilled from the snapshot next start
+        }
+    }
+
+    // Called on the writer thread: show the error later on the EDT, never block the writer
+    private void reportBackgroundSaveError(IOException ex) {
+        SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
+                view,
+                "File saving error (IOException).\nYour changes may not persist.\n\nDetails: " + ex.getMessage(),
+                "File Save Error",
+                JOptionPane.ERROR_MESSAGE
+        ));
+    }
+
+    // Queues one change: a journal record, or the changed segments without a journal
+    private void persistChange(RocketJournal.Op op, String key, Rocket rocket) {
+        if (!persister.hasJournal()) {
+            persister.submitDelta(inventory.takeChanges());
+            return;
+        }
+
+        persister.submitChange(op, key, rocket);
+        if (journal.needsCompaction()) {
+            persister.submitDelta(inventory.takeChanges());
+        }
+    }
+
     // ========================= CRUD LISTENERS =========================
 
     private void registerAdminControlListeners() {
@@ -144,6 +451,202 @@ public class RocketController {
         view.getBtnSortDesc().addActionListener(e -> sortDescending());
     }
 
+    // ========================= FILE MENU =========================
+
+    private void registerFileMenu() {
+        importMenuItem = new JMenuItem("Import Rockets...");
+        importMenuItem.addActionListener(e -> importRockets());
+
+        exportMenuItem = new JMenuItem("Export Shown Rockets...");
+        exportMenuItem.addActionListener(e -> exportShownRockets());
+
+        JMenu fileMenu = new JMenu("File");
+        fileMenu.add(importMenuItem);
+        fileMenu.add(exportMenuItem);
+
+        JMenuBar menuBar = new JMenuBar();
+        menuBar.add(fileMenu);
+        view.setJMenuBar(menuBar);
+    }
+
+    // ========================= BULK IMPORT =========================
+
+    private void importRockets() {
+        JFileChooser chooser = new JFileChooser(Path.of(DATA_FILE_PATH).toAbsolutePath().getParent().toFile());
+        chooser.setDialogTitle("Import Rockets (CSV / JSON-lines file or folder)");
+        chooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+        if (chooser.showOpenDialog(view) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        Path source = chooser.getSelectedFile().toPath();
+        Path rejects = Path.of(source + ".rejects.txt");
+        setControlsEnabled(false);
+
+        new SwingWorker<BulkImporter.Result, Void>() {
+            @Override
+            protected BulkImporter.Result doInBackground() throws IOException, InterruptedException {
+                // Earlier single changes must be written before the import's checkpoint
+                if (!persister.flush(30, TimeUnit.SECONDS)) {
+                    throw new IOException("Earlier changes are still being saved. Try again in a moment.");
+                }
+                // Controls are disabled, so nothing else touches the inventory meanwhile
+                return new BulkImporter(inventory).importFrom(source, rejects);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    BulkImporter.Result result = get();
+                    if (result.getImportedCount() > 0) {
+                        persistBulkChanges();
+                        refreshHome();
+                        refreshTable(inventory.viewAllRockets());
+                    }
+                    showImportSummary(result);
+
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(
+                            view,
+                            "Import failed. No rockets were added.\n\nDetails: " + cause.getMessage(),
+                            "Import Error",
+                            JOptionPane.ERROR_MESSAGE
+                    );
+                } finally {
+                    setControlsEnabled(true);
+                }
+            }
+        }.execute();
+    }
+
+    // One persist for the whole import: the changed segments, as a checkpoint
+    private void persistBulkChanges() {
+        persister.submitDelta(inventory.takeChanges());
+    }
+
+    private void showImportSummary(BulkImporter.Result result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Files read: ").append(result.getFileCount()).append("\n");
+        sb.append("Rows read: ").append(result.getRowCount()).append("\n");
+        sb.append("Rockets imported: ").append(result.getImportedCount()).append("\n");
+        sb.append("Rows rejected: ").append(result.getRejectedCount());
+        if (result.getRejectFile() != null) {
+            sb.append("\n\nRejected rows and reasons were written to:\n").append(result.getRejectFile());
+        }
+
+        JOptionPane.showMessageDialog(
+                view,
+                sb.toString(),
+                "Import Complete",
+                (result.getRejectedCount() > 0) ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE
+        );
+    }
+
+    // ========================= EXPORT =========================
+    // Exports exactly what the table shows (all rockets, or the last search/sort).
+    // The table's list is never modified in place (every refresh passes a new one),
+    // so the export streams it on a worker thread while the dashboard stays usable.
+    // A live view of a columnar inventory reads the store itself, so editing
+    // waits until that export is done.
+
+    private void exportShownRockets() {
+        List<Rocket> rows = tableModel.getRockets();
+
+        JFileChooser chooser = new JFileChooser(Path.of(DATA_FILE_PATH).toAbsolutePath().getParent().toFile());
+        chooser.setDialogTitle("Export " + rows.size() + " Shown Rockets");
+        chooser.setAcceptAllFileFilterUsed(false);
+        RocketExporter.Format[] formats = RocketExporter.Format.values();
+        FileNameExtensionFilter[] filters = new FileNameExtensionFilter[formats.length];
+        for (int i = 0; i < formats.length; i++) {
+            filters[i] = exportFilter(formats[i]);
+            chooser.addChoosableFileFilter(filters[i]);
+        }
+        chooser.setFileFilter(filters[0]);
+        if (chooser.showSaveDialog(view) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+
+        RocketExporter.Format format = formats[Math.max(0, Arrays.asList(filters).indexOf(chooser.getFileFilter()))];
+        Path target = chooser.getSelectedFile().toPath();
+        if (!target.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(format.getExtension())) {
+            target = Path.of(target + format.getExtension());
+        }
+        if (Files.exists(target)) {
+            int choice = JOptionPane.showConfirmDialog(
+                    view,
+                    target.getFileName() + " already exists. Replace it?",
+                    "Export",
+                    JOptionPane.YES_NO_OPTION
+            );
+            if (choice != JOptionPane.YES_OPTION) return;
+        }
+
+        runExport(rows, format, target);
+    }
+
+    private static FileNameExtensionFilter exportFilter(RocketExporter.Format format) {
+        String ext = format.getExtension().substring(1);
+        return switch (format) {
+            case CSV -> new FileNameExtensionFilter("CSV (*.csv)", ext);
+            case JSON_LINES -> new FileNameExtensionFilter("JSON lines (*.jsonl)", ext);
+            case COLUMNAR -> new FileNameExtensionFilter("Columnar binary (*.rkc)", ext);
+        };
+    }
+
+    private void runExport(List<Rocket> rows, RocketExporter.Format format, Path target) {
+        int total = rows.size();
+        ProgressMonitor monitor = new ProgressMonitor(view, "Exporting " + total + " rockets to " + target.getFileName(), null, 0, 100);
+        boolean live = inventory.isLiveView(rows);
+        exportMenuItem.setEnabled(false);
+        if (live) setControlsEnabled(false);
+
+        SwingWorker<Long, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Long doInBackground() throws IOException {
+                RocketExporter exporter = new RocketExporter(format,
+                        written -> setProgress((total == 0) ? 100 : (int) (written * 100 / total)));
+                return exporter.export(rows::forEach, target);
+            }
+
+            @Override
+            protected void done() {
+                monitor.close();
+                exportMenuItem.setEnabled(true);
+                if (live) setControlsEnabled(true);
+                if (isCancelled()) return;
+
+                try {
+                    long written = get();
+                    JOptionPane.showMessageDialog(
+                            view,
+                            "Exported " + written + " rockets to:\n" + target,
+                            "Export Complete",
+                            JOptionPane.INFORMATION_MESSAGE
+                    );
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = (ex.getCause() != null) ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(
+                            view,
+                            "Export failed. No file was written.\n\nDetails: " + cause.getMessage(),
+                            "Export Error",
+                            JOptionPane.ERROR_MESSAGE
+                    );
+                }
+            }
+        };
+
+        // Progress arrives on the EDT; Cancel interrupts the export, which removes its partial file
+        worker.addPropertyChangeListener(e -> {
+            if (monitor.isCanceled()) {
+                worker.cancel(true);
+            } else if ("progress".equals(e.getPropertyName())) {
+                monitor.setProgress((Integer) e.getNewValue());
+            }
+        });
+        worker.execute();
+    }
+
     // ========================= ADD/UPDATE/DELETE =========================
 
     private void addRocket() {
@@ -162,8 +665,8 @@ public class RocketController {
             }
 
             refreshHome();
-            refreshTable(inventory.getAllRockets());
-            saveAllRocketsToFile();
+            refreshTable(inventory.viewAllRockets());
+            persistChange(RocketJournal.Op.ADD, rocket.getRocketName(), rocket);
 
             JOptionPane.showMessageDialog(
                     view,
@@ -225,8 +728,8 @@ public class RocketController {
             }
 
             refreshHome();
-            refreshTable(inventory.getAllRockets());
-            saveAllRocketsToFile();
+            refreshTable(inventory.viewAllRockets());
+            persistChange(RocketJournal.Op.UPDATE, nameKey, updated);
 
             JOptionPane.showMessageDialog(
                     view,
@@ -284,8 +787,8 @@ public class RocketController {
             }
 
             refreshHome();
-            refreshTable(inventory.getAllRockets());
-            saveAllRocketsToFile();
+            refreshTable(inventory.viewAllRockets());
+            persistChange(RocketJournal.Op.DELETE, nameKey, null);
 
             JOptionPane.showMessageDialog(
                     view,
@@ -376,7 +879,7 @@ public class RocketController {
 
             if (found == null) {
                 JOptionPane.showMessageDialog(view, "No rocket found with that Rocket Name.", "Not Found", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable(inventory.getAllRockets());
+                refreshTable(inventory.viewAllRockets());
             } else {
                 ArrayList<Rocket> one = new ArrayList<>();
                 one.add(found);
@@ -388,15 +891,14 @@ public class RocketController {
         if (criteria.equalsIgnoreCase("Launch Year")) {
             try {
                 int year = Integer.parseInt(input);
-                Rocket found = inventory.binarySearchByLaunchYear(year);
+                // Year bucket lookup: shows every rocket from that year, not just one hit
+                List<Rocket> found = inventory.searchByLaunchYear(year);
 
-                if (found == null) {
+                if (found.isEmpty()) {
                     JOptionPane.showMessageDialog(view, "No rocket found with that Launch Year.", "Not Found", JOptionPane.INFORMATION_MESSAGE);
-                    refreshTable(inventory.getAllRockets());
+                    refreshTable(inventory.viewAllRockets());
                 } else {
-                    ArrayList<Rocket> one = new ArrayList<>();
-                    one.add(found);
-                    refreshTable(one);
+                    refreshTable(found);
                 }
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(view, "Launch Year must be a number.", "Invalid Input", JOptionPane.ERROR_MESSAGE);
@@ -407,6 +909,11 @@ public class RocketController {
         JOptionPane.showMessageDialog(view, "Invalid search criteria selection.", "Search Error", JOptionPane.ERROR_MESSAGE);
     }
 
+    // The search box takes a keyword for the selected criterion, or several
+    // "field:value" terms separated by ';' that must all match, e.g.
+    //   country:usa; status:active; year:1990-2010; mass:100-5000
+    // Terms without a known field use the selected criterion. All terms run as
+    // one RocketQuery, so the inventory picks the most selective index.
     private void handlePartialSearch() {
         String criteria = view.getCmbSearchCriteria().getSelectedItem().toString();
         String input = view.getTxtSearch().getText().trim();
@@ -416,48 +923,95 @@ public class RocketController {
             return;
         }
 
-        if (criteria.equalsIgnoreCase("Rocket Name")) {
-            List<Rocket> results = inventory.partialSearchByName(input);
-
-            if (results.isEmpty()) {
-                JOptionPane.showMessageDialog(view, "No rockets match that name keyword.", "No Results", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable(inventory.getAllRockets());
-            } else {
-                refreshTable(results);
+        RocketQuery query = new RocketQuery();
+        try {
+            for (String term : input.split(";")) {
+                addSearchTerm(query, criteria, term.trim());
             }
+        } catch (IllegalArgumentException ex) {
+            // Also covers NumberFormatException
+            JOptionPane.showMessageDialog(view, ex.getMessage(), "Invalid Input", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        if (criteria.equalsIgnoreCase("Country")) {
-            List<Rocket> results = inventory.partialSearchByCountry(input);
+        List<Rocket> results = inventory.query(query);
+        if (results.isEmpty()) {
+            JOptionPane.showMessageDialog(view, "No rockets match that search.", "No Results", JOptionPane.INFORMATION_MESSAGE);
+            refreshTable(inventory.viewAllRockets());
+        } else {
+            refreshTable(results);
+        }
+    }
 
-            if (results.isEmpty()) {
-                JOptionPane.showMessageDialog(view, "No rockets match that country keyword.", "No Results", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable(inventory.getAllRockets());
-            } else {
-                refreshTable(results);
+    private void addSearchTerm(RocketQuery query, String criteria, String term) {
+        if (term.isEmpty()) return;
+
+        String field = criteria;
+        String value = term;
+        int colon = term.indexOf(':');
+        if (colon > 0 && isSearchField(term.substring(0, colon).trim())) {
+            field = term.substring(0, colon).trim();
+            value = term.substring(colon + 1).trim();
+        }
+
+        switch (field.toLowerCase(Locale.ROOT)) {
+            case "rocket name", "name" -> query.nameContains(value);
+            case "country" -> query.countryContains(value);
+            case "status" -> {
+                String statusError = Validator.validateStatus(value);
+                if (statusError != null) throw new IllegalArgumentException(statusError);
+                query.statusIs(value);
             }
-            return;
+            case "launch year", "year" -> {
+                // "1990-2010" is a range; anything else is a partial year like "19"
+                if (value.indexOf('-', 1) > 0) {
+                    double[] range = searchRange(value, "Launch Year");
+                    query.launchYearBetween((int) range[0], (int) range[1]);
+                } else if (value.chars().allMatch(Character::isDigit)) {
+                    query.launchYearContains(value);
+                } else {
+                    throw new IllegalArgumentException("Launch Year must be digits or a range like 1990-2010.");
+                }
+            }
+            case "mass" -> {
+                double[] range = searchRange(value, "Mass");
+                query.massBetween(range[0], range[1]);
+            }
+            case "thrust" -> {
+                double[] range = searchRange(value, "Thrust");
+                query.thrustBetween(range[0], range[1]);
+            }
+            default -> throw new IllegalArgumentException("Invalid search criteria selection.");
         }
+    }
 
-        if (criteria.equalsIgnoreCase("Launch Year")) {
-            List<Rocket> results = inventory.partialSearchByLaunchYear(input);
+    private static boolean isSearchField(String field) {
+        return switch (field.toLowerCase(Locale.ROOT)) {
+            case "rocket name", "name", "country", "status", "launch year", "year", "mass", "thrust" -> true;
+            default -> false;
+        };
+    }
 
-            if (results.isEmpty()) {
-                JOptionPane.showMessageDialog(view, "No rockets match that year pattern.", "No Results", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable(inventory.getAllRockets());
-            } else {
-                refreshTable(results);
+    // "min-max", or a single value meaning exactly that value
+    private static double[] searchRange(String value, String fieldName) {
+        int dash = value.indexOf('-', 1);
+        try {
+            if (dash < 0) {
+                double v = Double.parseDouble(value);
+                return new double[] {v, v};
             }
-            return;
+            return new double[] {
+                Double.parseDouble(value.substring(0, dash).trim()),
+                Double.parseDouble(value.substring(dash + 1).trim())
+            };
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(fieldName + " must be a number or a range like 10-20.");
         }
-
-        JOptionPane.showMessageDialog(view, "Invalid search criteria selection.", "Search Error", JOptionPane.ERROR_MESSAGE);
     }
 
     private void resetRocketList() {
         view.getTxtSearch().setText("");
-        refreshTable(inventory.getAllRockets());
+        refreshTable(inventory.viewAllRockets());
     }
 
     private void sortAscending() {
@@ -473,11 +1027,13 @@ public class RocketController {
     // ========================= HOME REFRESH =========================
 
     public void refreshHome() {
-        view.getLblTotalRocketsValue().setText(String.valueOf(inventory.getTotalCount()));
-        view.getLblRecentCountValue().setText(String.valueOf(inventory.getRecentCount()));
-        view.getLblActiveCountValue().setText(String.valueOf(inventory.getActiveCount()));
-        view.getLblInactiveCountValue().setText(String.valueOf(inventory.getInactiveCount()));
-        view.getLblTestingCountValue().setText(String.valueOf(inventory.getTestingCount()));
+        InventoryStats stats = inventory.getStats();
+
+        view.getLblTotalRocketsValue().setText(String.valueOf(stats.getTotalCount()));
+        view.getLblRecentCountValue().setText(String.valueOf(stats.getRecentCount()));
+        view.getLblActiveCountValue().setText(String.valueOf(stats.getActiveCount()));
+        view.getLblInactiveCountValue().setText(String.valueOf(stats.getInactiveCount()));
+        view.getLblTestingCountValue().setText(String.valueOf(stats.getTestingCount()));
 
         List<Rocket> recent = inventory.getRecentRockets();
 
@@ -509,20 +1065,6 @@ public class RocketController {
     // ========================= TABLE REFRESH =========================
     
     public void refreshTable(List<Rocket> rockets) {
-        DefaultTableModel model = (DefaultTableModel) view.getTblRockets().getModel();
-        model.setRowCount(0);
-
-        for (Rocket r : rockets) {
-
-            model.addRow(new Object[]{
-                r.getRocketID(),
-                r.getRocketName(),
-                r.getCountry(),
-                r.getMass(),
-                r.getThrust(),
-                r.getStatus(),
-                r.getLaunchYear()
-            });
-        }
+        tableModel.setRockets(rockets);
     }
 }
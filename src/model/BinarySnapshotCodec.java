@@ -0,0 +1,242 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Binary snapshot format (.rks). Much smaller and faster to load than the CSV:
+// the whole file is read in one go and the numeric columns are copied out in bulk.
+//
+// Header (32 bytes, big-endian):
+//   magic "RKSB", version (short), flags (short), row count (int),
+//   body length (long), block size (int), block count (int), CRC32 of the above (int)
+// Body, split into blockSize blocks, each stored as:
+//   [byte kind: 0 = raw, 1 = LZ][int stored length][int raw length][int CRC32 of raw bytes][bytes]
+// Body layout (columns, one value per row):
+//   int[] launchYear, int[] country (index into the dictionary),
+//   double[] mass, double[] thrust, byte[] status ordinal,
+//   int dictionary size + dictionary strings, then id and name strings.
+//   Strings are [int UTF-8 length][bytes].
+class BinarySnapshotCodec {
+
+    static final int MAGIC = 0x524B5342;       // "RKSB"
+    static final short VERSION = 1;
+    static final short FLAG_COMPRESSED = 1;
+    static final int HEADER_SIZE = 32;
+    static final int BLOCK_SIZE = 1 << 20;     // 1 MB
+
+    private static final byte BLOCK_RAW = 0;
+    private static final byte BLOCK_LZ = 1;
+    private static final int BLOCK_HEADER = 13;
+
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+
+    private BinarySnapshotCodec() {
+    }
+
+    // ========================= ENCODE =========================
+
+    static byte[] encode(List<Rocket> rockets, boolean compress) {
+        int n = rockets.size();
+
+        // Countries go through a per-file dictionary (codes in CountryDictionary are per-run)
+        HashMap<Integer, Integer> localCode = new HashMap<>();
+        ArrayList<byte[]> dictionary = new ArrayList<>();
+        int[] countries = new int[n];
+        byte[][] ids = new byte[n][];
+        byte[][] names = new byte[n][];
+
+        long bodyLength = (long) n * (4 + 4 + 8 + 8 + 1) + 4;
+        for (int i = 0; i < n; i++) {
+            Rocket r = rockets.get(i);
+            Integer code = localCode.get(r.getCountryCode());
+            if (code == null) {
+                code = dictionary.size();
+                localCode.put(r.getCountryCode(), code);
+                byte[] country = utf8(r.getCountry());
+                dictionary.add(country);
+                bodyLength += 4 + country.length;
+            }
+            countries[i] = code;
+            ids[i] = utf8(r.getRocketID());
+            names[i] = utf8(r.getRocketName());
+            bodyLength += 8 + ids[i].length + names[i].length;
+        }
+        if (bodyLength > Integer.MAX_VALUE - 64) {
+            throw new IllegalArgumentException("Inventory is too large for a single binary snapshot");
+        }
+
+        ByteBuffer body = ByteBuffer.allocate((int) bodyLength);
+        for (int i = 0; i < n; i++) body.putInt(rockets.get(i).getLaunchYear());
+        for (int i = 0; i < n; i++) body.putInt(countries[i]);
+        for (int i = 0; i < n; i++) body.putDouble(rockets.get(i).getMass());
+        for (int i = 0; i < n; i++) body.putDouble(rockets.get(i).getThrust());
+        for (int i = 0; i < n; i++) body.put((byte) rockets.get(i).getStatus().ordinal());
+        body.putInt(dictionary.size());
+        for (byte[] s : dictionary) putString(body, s);
+        for (byte[] s : ids) putString(body, s);
+        for (byte[] s : names) putString(body, s);
+
+        return frame(body.array(), n, compress);
+    }
+
+    // Header + body split into checksummed (and optionally compressed) blocks
+    private static byte[] frame(byte[] body, int rows, boolean compress) {
+        int blockCount = (body.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int worst = HEADER_SIZE + blockCount * BLOCK_HEADER
+                + (compress ? LzBlockCodec.maxCompressedLength(body.length) : body.length);
+        ByteBuffer out = ByteBuffer.allocate(worst);
+
+        out.putInt(MAGIC);
+        out.putShort(VERSION);
+        out.putShort(compress ? FLAG_COMPRESSED : 0);
+        out.putInt(rows);
+        out.putLong(body.length);
+        out.putInt(BLOCK_SIZE);
+        out.putInt(blockCount);
+        out.putInt(crc(out.array(), 0, HEADER_SIZE - 4));
+
+        byte[] packed = compress ? new byte[LzBlockCodec.maxCompressedLength(Math.min(BLOCK_SIZE, body.length))] : null;
+
+        for (int b = 0; b < blockCount; b++) {
+            int from = b * BLOCK_SIZE;
+            int len = Math.min(BLOCK_SIZE, body.length - from);
+            int crc = crc(body, from, len);
+
+            int packedLen = -1;
+            if (compress) {
+                packedLen = LzBlockCodec.compress(body, from, len, packed);
+            }
+
+            // Blocks that don't shrink (e.g. already dense doubles) are kept raw
+            if (packedLen >= 0 && packedLen < len) {
+                out.put(BLOCK_LZ).putInt(packedLen).putInt(len).putInt(crc);
+                out.put(packed, 0, packedLen);
+            } else {
+                out.put(BLOCK_RAW).putInt(len).putInt(len).putInt(crc);
+                out.put(body, from, len);
+            }
+        }
+
+        byte[] file = new byte[out.position()];
+        System.arraycopy(out.array(), 0, file, 0, file.length);
+        return file;
+    }
+
+    // ========================= DECODE =========================
+
+    // Throws IOException if the file is truncated, fails a checksum, or isn't a snapshot
+    static ArrayList<Rocket> decode(byte[] file) throws IOException {
+        if (file.length < HEADER_SIZE) throw new IOException("Binary snapshot is truncated");
+
+        ByteBuffer in = ByteBuffer.wrap(file);
+        if (in.getInt() != MAGIC) throw new IOException("Not a rocket binary snapshot");
+        short version = in.getShort();
+        if (version != VERSION) throw new IOException("Unsupported binary snapshot version " + version);
+        in.getShort();      // flags: informational, each block says how it is stored
+        int rows = in.getInt();
+        long bodyLength = in.getLong();
+        int blockSize = in.getInt();
+        int blockCount = in.getInt();
+        if (in.getInt() != crc(file, 0, HEADER_SIZE - 4)) throw new IOException("Binary snapshot header is corrupt");
+        if (rows < 0 || bodyLength < 0 || bodyLength > Integer.MAX_VALUE || blockSize <= 0 || blockCount < 0) {
+            throw new IOException("Binary snapshot header is corrupt");
+        }
+
+        byte[] body = new byte[(int) bodyLength];
+        int pos = 0;
+        for (int b = 0; b < blockCount; b++) {
+            if (in.remaining() < BLOCK_HEADER) throw new IOException("Binary snapshot is truncated");
+            byte kind = in.get();
+            int stored = in.getInt();
+            int raw = in.getInt();
+            int crc = in.getInt();
+            if (stored < 0 || raw < 0 || stored > in.remaining() || raw > body.length - pos) {
+                throw new IOException("Binary snapshot is truncated");
+            }
+
+            if (kind == BLOCK_LZ) {
+                LzBlockCodec.decompress(file, in.position(), stored, body, pos, raw);
+            } else if (kind == BLOCK_RAW && stored == raw) {
+                System.arraycopy(file, in.position(), body, pos, raw);
+            } else {
+                throw new IOException("Binary snapshot block " + b + " is corrupt");
+            }
+            if (crc(body, pos, raw) != crc) throw new IOException("Binary snapshot block " + b + " failed its checksum");
+
+            in.position(in.position() + stored);
+            pos += raw;
+        }
+        if (pos != body.length) throw new IOException("Binary snapshot is truncated");
+
+        try {
+            return readColumns(ByteBuffer.wrap(body), rows);
+        } catch (RuntimeException ex) {
+            throw new IOException("Binary snapshot body is corrupt", ex);
+        }
+    }
+
+    private static ArrayList<Rocket> readColumns(ByteBuffer body, int n) {
+        int[] years = new int[n];
+        int[] countries = new int[n];
+        double[] masses = new double[n];
+        double[] thrusts = new double[n];
+        byte[] statuses = new byte[n];
+
+        // Fixed-width columns: straight bulk copies
+        body.asIntBuffer().get(years);
+        body.position(body.position() + 4 * n);
+        body.asIntBuffer().get(countries);
+        body.position(body.position() + 4 * n);
+        body.asDoubleBuffer().get(masses);
+        body.position(body.position() + 8 * n);
+        body.asDoubleBuffer().get(thrusts);
+        body.position(body.position() + 8 * n);
+        body.get(statuses);
+
+        String[] dictionary = new String[body.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = getString(body);
+        }
+
+        String[] ids = new String[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = getString(body);
+        }
+
+        ArrayList<Rocket> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(new Rocket(ids[i], getString(body), dictionary[countries[i]],
+                    masses[i], thrusts[i], STATUSES[statuses[i]], years[i]));
+        }
+        return list;
+    }
+
+    // ========================= HELPERS =========================
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer out, byte[] s) {
+        out.putInt(s.length);
+        out.put(s);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int len = in.getInt();
+        String s = new String(in.array(), in.position(), len, StandardCharsets.UTF_8);
+        in.position(in.position() + len);
+        return s;
+    }
+
+    private static int crc(byte[] b, int off, int len) {
+        CRC32 crc = new CRC32();
+        crc.update(b, off, len);
+        return (int) crc.getValue();
+    }
+}
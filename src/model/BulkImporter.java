@@ -0,0 +1,339 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import util.Validator;
+
+// Bulk import of partner feeds: CSV files (.csv, same columns as the data file)
+// and JSON-lines files (.jsonl / .ndjson), or a directory of them. Rows flow
+// through a staged pipeline in batches of BATCH_SIZE:
+//   read   - caller thread, file by file, line by line into batches
+//   parse + validate - fork-join pool, several batches at once; CSV rows with
+//            the data file's parser, then the same Validator checks as the Add form
+//   dedup  - caller thread, in input order, against the inventory's name index
+//            and the rows accepted before it (first one wins)
+//   commit - all accepted rows are added in one go once every file was read,
+//            so an I/O error part-way leaves the inventory untouched
+// Bad rows and duplicates are written to the reject file with their reason.
+public class BulkImporter {
+
+    public static final int BATCH_SIZE = 4096;
+
+    // Batches being validated at once; also bounds how far reading runs ahead
+    private static final int MAX_IN_FLIGHT = 4 * Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+
+    private final RocketInventory inventory;
+
+    public BulkImporter(RocketInventory inventory) {
+        this.inventory = inventory;
+    }
+
+    public static class Result {
+        private final int files;
+        private final int rows;
+        private final int imported;
+        private final int rejected;
+        private final Path rejectFile;
+
+        Result(int files, int rows, int imported, int rejected, Path rejectFile) {
+            this.files = files;
+            this.rows = rows;
+            this.imported = imported;
+            this.rejected = rejected;
+            this.rejectFile = rejectFile;
+        }
+
+        public int getFileCount() {
+            return files;
+        }
+
+        public int getRowCount() {
+            return rows;
+        }
+
+        public int getImportedCount() {
+            return imported;
+        }
+
+        public int getRejectedCount() {
+            return rejected;
+        }
+
+        // Null when nothing was rejected (no file is written then)
+        public Path getRejectFile() {
+            return rejectFile;
+        }
+    }
+
+    // source is one file or a directory (its .csv/.jsonl/.ndjson files, by name).
+    // Nothing else may use the inventory until this returns.
+    public Result importFrom(Path source, Path rejectFile) throws IOException {
+        List<Path> files = listSources(source);
+        Run run = new Run(rejectFile);
+
+        try {
+            for (Path file : files) {
+                readFile(file, run);
+            }
+            while (!run.inFlight.isEmpty()) {
+                run.dedup(run.inFlight.poll().join());
+            }
+        } finally {
+            run.closeRejects();
+        }
+
+        int imported = inventory.addAll(run.accepted);
+        return new Result(files.size(), run.rows, imported, run.rejected,
+                (run.rejected > 0) ? rejectFile : null);
+    }
+
+    private static List<Path> listSources(Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            if (!Files.isRegularFile(source)) throw new IOException("Import source not found: " + source);
+            return List.of(source);
+        }
+        try (Stream<Path> entries = Files.list(source)) {
+            return entries.filter(p -> Files.isRegularFile(p) && isSupported(p))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static boolean isSupported(Path p) {
+        String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".csv") || isJsonLines(p);
+    }
+
+    private static boolean isJsonLines(Path p) {
+        String name = p.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".jsonl") || name.endsWith(".ndjson");
+    }
+
+    // ========================= READ STAGE =========================
+
+    private void readFile(Path file, Run run) throws IOException {
+        boolean json = isJsonLines(file);
+        String sourceName = file.getFileName().toString();
+
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Batch batch = new Batch(sourceName, json);
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (RocketCsvParser.isSkipped(line)) continue;
+
+                batch.add(lineNo, line);
+                if (batch.size == BATCH_SIZE) {
+                    submit(batch, run);
+                    batch = new Batch(sourceName, json);
+                }
+            }
+            if (batch.size > 0) {
+                submit(batch, run);
+            }
+        }
+    }
+
+    private void submit(Batch batch, Run run) throws IOException {
+        // Backpressure: finish the oldest batch before reading further ahead
+        while (run.inFlight.size() >= MAX_IN_FLIGHT) {
+            run.dedup(run.inFlight.poll().join());
+        }
+        run.inFlight.add(CompletableFuture.supplyAsync(() -> check(batch)));
+    }
+
+    private static class Batch {
+        final String source;
+        final boolean json;
+        final int[] lineNos = new int[BATCH_SIZE];
+        final String[] lines = new String[BATCH_SIZE];
+        final Rocket[] rockets = new Rocket[BATCH_SIZE];   // filled by check(); null = rejected
+        final String[] reasons = new String[BATCH_SIZE];
+        int size;
+
+        Batch(String source, boolean json) {
+            this.source = source;
+            this.json = json;
+        }
+
+        void add(int lineNo, String line) {
+            lineNos[size] = lineNo;
+            lines[size] = line;
+            size++;
+        }
+    }
+
+    // ========================= PARSE + VALIDATE STAGE (parallel) =========================
+
+    private static Batch check(Batch batch) {
+        // CSV rows go through the data file's parser (one per batch: it is not thread-safe)
+        RocketCsvParser csv = batch.json ? null : new RocketCsvParser();
+        for (int i = 0; i < batch.size; i++) {
+            try {
+                batch.rockets[i] = batch.json
+                        ? validate(jsonFields(batch.lines[i]))
+                        : validate(csvRocket(csv, batch.lines[i], batch.lineNos[i]));
+            } catch (IllegalArgumentException ex) {
+                // Also covers NumberFormatException
+                batch.reasons[i] = ex.getMessage();
+            }
+        }
+        return batch;
+    }
+
+    // Parsed exactly like the data file: same columns (6-column rows have no
+    // country), number and status rules, and problem messages
+    private static Rocket csvRocket(RocketCsvParser csv, String line, int lineNo) {
+        Rocket r = csv.parseLine(line, lineNo);
+        if (r == null) {
+            throw new IllegalArgumentException(csv.takeProblem());
+        }
+        return r;
+    }
+
+    private static String[] jsonFields(String line) {
+        HashMap<String, String> o = JsonLines.parseObject(line.trim());
+        return new String[]{
+            either(o, "rocketID", "id"),
+            either(o, "rocketName", "name"),
+            o.get("country"),
+            o.get("mass"),
+            o.get("thrust"),
+            o.get("status"),
+            either(o, "launchYear", "year")
+        };
+    }
+
+    private static String either(HashMap<String, String> o, String key, String alias) {
+        String v = o.get(key);
+        return (v != null) ? v : o.get(alias);
+    }
+
+    // Same checks, in the same order, as the Add form (RocketController.readRocketFromForm)
+    private static Rocket validate(String[] f) {
+        String id = trim(f[0]);
+        String name = trim(f[1]);
+        String country = trim(f[2]);
+        String status = trim(f[5]);
+
+        String idError = Validator.validateRocketID(id);
+        if (idError != null) throw new IllegalArgumentException(idError);
+
+        String nameError = Validator.validateRocketName(name);
+        if (nameError != null) throw new IllegalArgumentException(nameError);
+
+        if (country.isEmpty()) {
+            throw new IllegalArgumentException("Country cannot be empty.");
+        }
+
+        String statusError = Validator.validateStatus(status);
+        if (statusError != null) throw new IllegalArgumentException(statusError);
+
+        double mass = number(f[3], "Mass");
+        double thrust = number(f[4], "Thrust");
+        int year;
+        try {
+            year = Validator.parseAndValidateLaunchYear(trim(f[6]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Launch Year must be a valid number.");
+        }
+
+        return new Rocket(id, name, country, mass, thrust, status, year);
+    }
+
+    // The Add form's checks the CSV parser does not already make (it rejects
+    // bad numbers and statuses itself), in the same order
+    private static Rocket validate(Rocket r) {
+        require(Validator.validateRocketID(r.getRocketID()));
+        require(Validator.validateRocketName(r.getRocketName()));
+        if (r.getCountry().isEmpty()) {
+            throw new IllegalArgumentException("Country cannot be empty.");
+        }
+        require(Validator.validateNonNegative(r.getMass(), "Mass"));
+        require(Validator.validateNonNegative(r.getThrust(), "Thrust"));
+        require(Validator.validateLaunchYear(r.getLaunchYear()));
+        return r;
+    }
+
+    private static void require(String error) {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    private static double number(String text, String fieldName) {
+        try {
+            return Validator.parseAndValidateNonNegativeDouble(trim(text), fieldName);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(fieldName + " must be a valid number.");
+        }
+    }
+
+    private static String trim(String s) {
+        return (s == null) ? "" : s.trim();
+    }
+
+    // ========================= DEDUP STAGE =========================
+
+    // State of one import; only touched on the caller thread
+    private class Run {
+        final ArrayDeque<CompletableFuture<Batch>> inFlight = new ArrayDeque<>();
+        final ArrayList<Rocket> accepted = new ArrayList<>();
+        final HashSet<String> acceptedNames = new HashSet<>();
+        final Path rejectPath;
+        BufferedWriter rejects;
+        int rows;
+        int rejected;
+
+        Run(Path rejectPath) {
+            this.rejectPath = rejectPath;
+        }
+
+        void dedup(Batch batch) throws IOException {
+            for (int i = 0; i < batch.size; i++) {
+                rows++;
+                Rocket r = batch.rockets[i];
+                if (r == null) {
+                    reject(batch, i, batch.reasons[i]);
+                } else if (inventory.isDuplicateRocketName(r.getRocketName())) {
+                    reject(batch, i, "Duplicate Rocket Name. Rocket already exists.");
+                } else if (!acceptedNames.add(r.getRocketName().toLowerCase(Locale.ROOT))) {
+                    reject(batch, i, "Duplicate Rocket Name (already earlier in this import).");
+                } else {
+                    accepted.add(r);
+                }
+            }
+        }
+
+        // One tab-separated line per reject: source:line, reason, original text
+        void reject(Batch batch, int i, String reason) throws IOException {
+            rejected++;
+            if (rejects == null) {
+                rejects = Files.newBufferedWriter(rejectPath, StandardCharsets.UTF_8);
+                rejects.write("# source:line\treason\toriginal row\n");
+            }
+            rejects.write(batch.source + ":" + batch.lineNos[i] + "\t" + reason + "\t" + batch.lines[i]);
+            rejects.write('\n');
+        }
+
+        void closeRejects() throws IOException {
+            if (rejects != null) {
+                rejects.close();
+            }
+        }
+    }
+}
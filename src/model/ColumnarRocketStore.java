@@ -0,0 +1,177 @@
+package model;
+
+import java.util.Arrays;
+
+// Column-oriented row store (RocketInventory.Storage.COLUMNAR) for very large
+// fleets. Each field lives in its own primitive array (one slot per row), so
+// there is no Rocket object, header or boxed field per row, and filters and
+// counters read tight arrays instead of chasing objects. A Rocket is only
+// built when a whole row is read (get).
+//
+// Country is a CountryDictionary code and status a RocketStatus ordinal.
+// IDs and names are unique per rocket, so a dictionary would not shrink them;
+// they stay as one String per row.
+class ColumnarRocketStore implements RocketStore {
+
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+
+    private String[] ids;
+    private String[] names;
+    private int[] countries;
+    private double[] masses;
+    private double[] thrusts;
+    private byte[] statuses;
+    private int[] years;
+    private int size;
+
+    ColumnarRocketStore() {
+        this(16);
+    }
+
+    ColumnarRocketStore(int initialCapacity) {
+        int cap = Math.max(1, initialCapacity);
+        ids = new String[cap];
+        names = new String[cap];
+        countries = new int[cap];
+        masses = new double[cap];
+        thrusts = new double[cap];
+        statuses = new byte[cap];
+        years = new int[cap];
+    }
+
+    // ========================= ROWS =========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(Rocket r) {
+        if (size == ids.length) {
+            grow(size * 2);
+        }
+        write(size++, r);
+    }
+
+    @Override
+    public void set(int row, Rocket r) {
+        checkRow(row);
+        write(row, r);
+    }
+
+    // Moves each run of kept rows down over the dropped ones (one arraycopy per column and run)
+    @Override
+    public void removeRows(int[] rows) {
+        if (rows.length == 0) return;
+        int write = rows[0];
+        for (int i = 0; i < rows.length; i++) {
+            checkRow(rows[i]);
+            int from = rows[i] + 1;
+            int run = ((i + 1 < rows.length) ? rows[i + 1] : size) - from;
+            if (run > 0) {
+                System.arraycopy(ids, from, ids, write, run);
+                System.arraycopy(names, from, names, write, run);
+                System.arraycopy(countries, from, countries, write, run);
+                System.arraycopy(masses, from, masses, write, run);
+                System.arraycopy(thrusts, from, thrusts, write, run);
+                System.arraycopy(statuses, from, statuses, write, run);
+                System.arraycopy(years, from, years, write, run);
+                write += run;
+            }
+        }
+        Arrays.fill(ids, write, size, null);
+        Arrays.fill(names, write, size, null);
+        size = write;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(ids, 0, size, null);
+        Arrays.fill(names, 0, size, null);
+        size = 0;
+    }
+
+    // Builds a Rocket for one row. It is a copy, not a view over the columns:
+    // Rocket has public setters, and a view would either let them change a row
+    // behind the inventory's indexes or have to ignore them. The copy takes the
+    // country code as is, so it costs one small object and no dictionary lookup.
+    @Override
+    public Rocket get(int row) {
+        checkRow(row);
+        return new Rocket(ids[row], names[row], countries[row],
+                masses[row], thrusts[row], STATUSES[statuses[row]], years[row]);
+    }
+
+    // ========================= COLUMN ACCESS =========================
+
+    @Override
+    public String getRocketID(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    @Override
+    public String getRocketName(int row) {
+        checkRow(row);
+        return names[row];
+    }
+
+    @Override
+    public int getCountryCode(int row) {
+        checkRow(row);
+        return countries[row];
+    }
+
+    @Override
+    public double getMass(int row) {
+        checkRow(row);
+        return masses[row];
+    }
+
+    @Override
+    public double getThrust(int row) {
+        checkRow(row);
+        return thrusts[row];
+    }
+
+    @Override
+    public int getLaunchYear(int row) {
+        checkRow(row);
+        return years[row];
+    }
+
+    @Override
+    public RocketStatus getStatus(int row) {
+        checkRow(row);
+        return STATUSES[statuses[row]];
+    }
+
+    // ========================= INTERNALS =========================
+
+    private void write(int row, Rocket r) {
+        ids[row] = r.getRocketID();
+        names[row] = r.getRocketName();
+        countries[row] = r.getCountryCode();
+        masses[row] = r.getMass();
+        thrusts[row] = r.getThrust();
+        statuses[row] = (byte) r.getStatus().ordinal();
+        years[row] = r.getLaunchYear();
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        countries = Arrays.copyOf(countries, capacity);
+        masses = Arrays.copyOf(masses, capacity);
+        thrusts = Arrays.copyOf(thrusts, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        years = Arrays.copyOf(years, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range (size " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared intern table for country names. Rockets store a small int code
+// instead of their own String, so thousands of "USA" rows share one copy
+// and country filters compare ints. Codes are never reused or removed.
+public class CountryDictionary {
+
+    private static final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[16];
+    private static int size;
+
+    private CountryDictionary() {
+    }
+
+    public static int intern(String country) {
+        String key = (country == null) ? "" : country;
+        Integer code = codes.get(key);
+        if (code != null) return code;
+
+        synchronized (CountryDictionary.class) {
+            code = codes.get(key);
+            if (code != null) return code;
+
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = key;
+            names = current;    // publish before the code becomes visible
+            codes.put(key, size);
+            return size++;
+        }
+    }
+
+    public static String nameOf(int code) {
+        return names[code];
+    }
+
+    // Code for a country already in the table, or -1 (lookup only, never adds)
+    public static int codeOf(String country) {
+        Integer code = codes.get((country == null) ? "" : country);
+        return (code == null) ? -1 : code;
+    }
+}
@@ -0,0 +1,105 @@
+package model;
+
+import java.util.Arrays;
+
+// Rows deleted from the inventory that are still in its store (tombstones). A
+// delete only takes its own row out of the indexes and marks it here; marked
+// rows are dropped from the store in one pass once enough have piled up
+// (RocketInventory.compact), so a delete doesn't renumber every later row in
+// every index. List positions skip deleted rows: a Fenwick tree over the marks
+// converts between positions and row numbers in O(log n).
+class DeletedRows {
+
+    private int[] tree = new int[16];       // 1-based Fenwick tree: deleted rows per node
+    private long[] marks = new long[1];     // one bit per row
+    private int rows;                       // rows tracked (the store's size)
+    private int count;                      // deleted rows among them
+
+    int count() {
+        return count;
+    }
+
+    // Rows that are not deleted (the inventory's size)
+    int liveRows() {
+        return rows - count;
+    }
+
+    // Tracks `rows` rows, none deleted (a store that was just filled or compacted)
+    void reset(int rows) {
+        tree = new int[Math.max(16, rows + 1)];
+        marks = new long[Math.max(1, (rows + 63) >> 6)];
+        this.rows = rows;
+        count = 0;
+    }
+
+    // The store appended a row
+    void appended() {
+        rows++;
+        if (rows == tree.length) {
+            tree = Arrays.copyOf(tree, rows * 2);
+        }
+        if ((rows - 1) >> 6 == marks.length) {
+            marks = Arrays.copyOf(marks, marks.length * 2);
+        }
+        // Node `rows` covers (rows - lowbit, rows]; the new row itself isn't deleted
+        tree[rows] = (count == 0) ? 0 : deletedBefore(rows - 1) - deletedBefore(rows - Integer.lowestOneBit(rows));
+    }
+
+    void delete(int row) {
+        marks[row >> 6] |= 1L << row;
+        count++;
+        for (int i = row + 1; i <= rows; i += Integer.lowestOneBit(i)) {
+            tree[i]++;
+        }
+    }
+
+    boolean isDeleted(int row) {
+        return count > 0 && (marks[row >> 6] & (1L << row)) != 0;
+    }
+
+    // List position of a row that isn't deleted
+    int position(int row) {
+        return (count == 0) ? row : row - deletedBefore(row);
+    }
+
+    // Row at a list position (0 .. liveRows() - 1)
+    int row(int position) {
+        if (count == 0) return position;
+
+        // Largest prefix of rows holding no more than `position` live rows
+        int at = 0;
+        int left = position + 1;
+        for (int step = Integer.highestOneBit(rows); step > 0; step >>= 1) {
+            int next = at + step;
+            if (next <= rows) {
+                int live = step - tree[next];
+                if (live < left) {
+                    at = next;
+                    left -= live;
+                }
+            }
+        }
+        return at;
+    }
+
+    // The deleted rows, ascending
+    int[] toArray() {
+        int[] out = new int[count];
+        int n = 0;
+        for (int w = 0; w < marks.length && n < count; w++) {
+            for (long bits = marks[w]; bits != 0; bits &= bits - 1) {
+                out[n++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return out;
+    }
+
+    // Deleted rows among rows [0, row)
+    private int deletedBefore(int row) {
+        int n = 0;
+        for (int i = row; i > 0; i -= Integer.lowestOneBit(i)) {
+            n += tree[i];
+        }
+        return n;
+    }
+}
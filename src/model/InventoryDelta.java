@@ -0,0 +1,66 @@
+package model;
+
+import java.util.HashMap;
+import java.util.List;
+
+// What changed in the inventory since the last persist, by segment (see
+// SegmentTracker): the full segment layout in list order, plus the rows of every
+// segment that has to be rewritten. Segments not in `rows` are unchanged on disk.
+public class InventoryDelta {
+
+    final long[] segmentIds;
+    final int[] segmentSizes;
+    final HashMap<Long, List<Rocket>> rows;    // segment id -> its rows (private copies)
+    final boolean full;                         // every segment is in `rows`
+    final long journalCutoff;                   // journal records it covers (-1 = keep the store's)
+
+    InventoryDelta(long[] segmentIds, int[] segmentSizes, HashMap<Long, List<Rocket>> rows, boolean full) {
+        this(segmentIds, segmentSizes, rows, full, -1);
+    }
+
+    private InventoryDelta(long[] segmentIds, int[] segmentSizes, HashMap<Long, List<Rocket>> rows,
+                           boolean full, long journalCutoff) {
+        this.segmentIds = segmentIds;
+        this.segmentSizes = segmentSizes;
+        this.rows = rows;
+        this.full = full;
+        this.journalCutoff = journalCutoff;
+    }
+
+    // The same delta, marked as covering every journal record numbered below cutoff
+    // (RocketJournal compaction); saved into the manifest with the segments
+    InventoryDelta coveringJournal(long cutoff) {
+        return new InventoryDelta(segmentIds, segmentSizes, rows, full, cutoff);
+    }
+
+    public int getSegmentCount() {
+        return segmentIds.length;
+    }
+
+    public int getChangedSegmentCount() {
+        return rows.size();
+    }
+
+    public int getChangedRowCount() {
+        int n = 0;
+        for (List<Rocket> r : rows.values()) {
+            n += r.size();
+        }
+        return n;
+    }
+
+    // Combines this (older) delta with a later one, e.g. when a save failed or
+    // several queued saves are coalesced. The later layout wins; segments it
+    // no longer has are dropped. The merged rows include both, so they cover
+    // the higher journal cutoff of the two.
+    public InventoryDelta mergeWith(InventoryDelta later) {
+        HashMap<Long, List<Rocket>> merged = new HashMap<>();
+        for (long id : later.segmentIds) {
+            List<Rocket> r = later.rows.get(id);
+            if (r == null) r = rows.get(id);
+            if (r != null) merged.put(id, r);
+        }
+        return new InventoryDelta(later.segmentIds, later.segmentSizes, merged, full || later.full,
+                Math.max(journalCutoff, later.journalCutoff));
+    }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Read-only snapshot of the Home tab statistics, taken in one call from
+// RocketInventory.getStats() so the view doesn't query each number separately.
+public class InventoryStats {
+
+    private final int totalCount;
+    private final int recentCount;
+    private final int activeCount;
+    private final int inactiveCount;
+    private final int testingCount;
+    private final Map<String, Integer> countryCounts;   // country -> rockets, sorted by country
+    private final Map<Integer, Integer> decadeCounts;   // 1990 -> rockets launched 1990..1999
+
+    InventoryStats(int totalCount, int recentCount, int activeCount, int inactiveCount, int testingCount,
+                   Map<String, Integer> countryCounts, Map<Integer, Integer> decadeCounts) {
+        this.totalCount = totalCount;
+        this.recentCount = recentCount;
+        this.activeCount = activeCount;
+        this.inactiveCount = inactiveCount;
+        this.testingCount = testingCount;
+        this.countryCounts = Collections.unmodifiableMap(new TreeMap<>(countryCounts));
+        this.decadeCounts = Collections.unmodifiableMap(new TreeMap<>(decadeCounts));
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getRecentCount() {
+        return recentCount;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getInactiveCount() {
+        return inactiveCount;
+    }
+
+    public int getTestingCount() {
+        return testingCount;
+    }
+
+    public Map<String, Integer> getCountryCounts() {
+        return countryCounts;
+    }
+
+    public Map<Integer, Integer> getDecadeCounts() {
+        return decadeCounts;
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import java.util.HashMap;
+
+// Minimal reader for JSON-lines rocket records: one flat object per line, e.g.
+//   {"rocketID":"R1","rocketName":"Falcon 9","country":"USA","mass":549,"thrust":7607,"status":"Active","launchYear":2010}
+// Values come back as text (numbers exactly as written) so they can go through
+// the same Validator checks as form input. Nested objects/arrays are rejected.
+class JsonLines {
+
+    private JsonLines() {
+    }
+
+    // Field name -> value text (null for JSON null); IllegalArgumentException if malformed
+    static HashMap<String, String> parseObject(String line) {
+        Cursor c = new Cursor(line);
+        HashMap<String, String> fields = new HashMap<>();
+
+        c.skipSpace();
+        c.expect('{');
+        c.skipSpace();
+        if (c.peek() == '}') {
+            c.pos++;
+        } else {
+            while (true) {
+                c.skipSpace();
+                String key = c.readString();
+                c.skipSpace();
+                c.expect(':');
+                c.skipSpace();
+                fields.put(key, c.readValue());
+                c.skipSpace();
+                char next = c.next();
+                if (next == '}') break;
+                if (next != ',') throw c.error("expected ',' or '}'");
+            }
+        }
+        c.skipSpace();
+        if (c.pos != line.length()) throw c.error("unexpected text after the object");
+        return fields;
+    }
+
+    private static class Cursor {
+        final String s;
+        int pos;
+
+        Cursor(String s) {
+            this.s = s;
+        }
+
+        char peek() {
+            if (pos >= s.length()) throw error("unexpected end of line");
+            return s.charAt(pos);
+        }
+
+        char next() {
+            char ch = peek();
+            pos++;
+            return ch;
+        }
+
+        void expect(char ch) {
+            if (next() != ch) throw error("expected '" + ch + "'");
+        }
+
+        void skipSpace() {
+            while (pos < s.length() && s.charAt(pos) <= ' ') pos++;
+        }
+
+        String readValue() {
+            char ch = peek();
+            if (ch == '"') return readString();
+            if (ch == '{' || ch == '[') throw error("nested values are not supported");
+
+            // Number, true/false or null: raw text up to the next delimiter
+            int start = pos;
+            while (pos < s.length() && ",}] \t".indexOf(s.charAt(pos)) < 0) pos++;
+            String raw = s.substring(start, pos);
+            if (raw.isEmpty()) throw error("missing value");
+            return raw.equals("null") ? null : raw;
+        }
+
+        String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char ch = next();
+                if (ch == '"') return sb.toString();
+                if (ch != '\\') {
+                    sb.append(ch);
+                    continue;
+                }
+                char esc = next();
+                switch (esc) {
+                    case '"', '\\', '/' -> sb.append(esc);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw error("bad \\u escape");
+                        try {
+                            sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw error("bad \\u escape");
+                        }
+                        pos += 4;
+                    }
+                    default -> throw error("bad escape \\" + esc);
+                }
+            }
+        }
+
+        IllegalArgumentException error(String what) {
+            return new IllegalArgumentException("Malformed JSON at column " + (pos + 1) + ": " + what);
+        }
+    }
+}
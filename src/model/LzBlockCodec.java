@@ -0,0 +1,156 @@
+package model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Small LZ4-style block compressor (same sequence layout as the LZ4 block format):
+//   token byte: high nibble = literal count, low nibble = match length - 4
+//   (a nibble of 15 means more length bytes follow, each 255 = keep adding),
+//   the literals, then a 2-byte little-endian back-reference offset.
+// The last sequence has literals only. Fast single-pass greedy matching with a
+// hash table of 4-byte prefixes; good enough for the repetitive rocket columns.
+class LzBlockCodec {
+
+    private static final int MIN_MATCH = 4;
+    private static final int HASH_BITS = 14;
+    private static final int MAX_OFFSET = 65535;
+    private static final int LAST_LITERALS = 5;     // LZ4 rule: input tail is always literals
+    private static final int MF_LIMIT = 12;         // no match may start this close to the end
+
+    private LzBlockCodec() {
+    }
+
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    // Compresses src[off, off + len) into dst; returns the compressed length
+    static int compress(byte[] src, int off, int len, byte[] dst) {
+        int[] table = new int[1 << HASH_BITS];
+        Arrays.fill(table, -1);
+
+        int anchor = off;   // start of pending literals
+        int ip = off;
+        int op = 0;
+        int end = off + len;
+        int limit = end - MF_LIMIT;
+
+        while (ip < limit) {
+            int seq = readInt(src, ip);
+            int h = hash(seq);
+            int ref = table[h];
+            table[h] = ip;
+
+            if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != seq) {
+                ip++;
+                continue;
+            }
+
+            // Extend the match forward (but leave LAST_LITERALS bytes)
+            int matchLen = MIN_MATCH;
+            int maxLen = end - LAST_LITERALS - ip;
+            while (matchLen < maxLen && src[ref + matchLen] == src[ip + matchLen]) {
+                matchLen++;
+            }
+
+            op = writeSequence(src, anchor, ip - anchor, ip - ref, matchLen, dst, op);
+            ip += matchLen;
+            anchor = ip;
+        }
+
+        // Remaining bytes as a literals-only sequence
+        return writeSequence(src, anchor, end - anchor, 0, 0, dst, op);
+    }
+
+    // Decompresses src[srcOff, srcOff + srcLen) into dst[dstOff, dstOff + rawLen)
+    static void decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int rawLen) throws IOException {
+        int ip = srcOff;
+        int op = dstOff;
+        int srcEnd = srcOff + srcLen;
+        int dstEnd = dstOff + rawLen;
+
+        try {
+            while (ip < srcEnd) {
+                int token = src[ip++] & 0xFF;
+
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xFF;
+                        literals += b;
+                    } while (b == 255);
+                }
+                if (ip + literals > srcEnd || op + literals > dstEnd) throw new IOException("Compressed block is corrupt");
+                System.arraycopy(src, ip, dst, op, literals);
+                ip += literals;
+                op += literals;
+
+                if (ip >= srcEnd) break;    // last sequence has no match
+
+                int offset = (src[ip] & 0xFF) | ((src[ip + 1] & 0xFF) << 8);
+                ip += 2;
+                if (offset == 0 || offset > op - dstOff) throw new IOException("Bad back-reference in compressed block");
+
+                int matchLen = (token & 0x0F);
+                if (matchLen == 15) {
+                    int b;
+                    do {
+                        b = src[ip++] & 0xFF;
+                        matchLen += b;
+                    } while (b == 255);
+                }
+                matchLen += MIN_MATCH;
+                if (op + matchLen > dstEnd) throw new IOException("Compressed block is corrupt");
+
+                // Byte by byte: the match may overlap the bytes it is producing
+                int from = op - offset;
+                for (int i = 0; i < matchLen; i++) {
+                    dst[op++] = dst[from + i];
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            throw new IOException("Compressed block is truncated or corrupt");
+        }
+
+        if (op != dstEnd) throw new IOException("Compressed block decodes to the wrong length");
+    }
+
+    private static int writeSequence(byte[] src, int litStart, int litLen, int offset, int matchLen,
+                                     byte[] dst, int op) {
+        int tokenPos = op++;
+        int token = Math.min(litLen, 15) << 4;
+        if (litLen >= 15) op = writeLength(litLen - 15, dst, op);
+
+        System.arraycopy(src, litStart, dst, op, litLen);
+        op += litLen;
+
+        if (matchLen > 0) {
+            dst[op++] = (byte) offset;
+            dst[op++] = (byte) (offset >>> 8);
+            int m = matchLen - MIN_MATCH;
+            token |= Math.min(m, 15);
+            if (m >= 15) op = writeLength(m - 15, dst, op);
+        }
+
+        dst[tokenPos] = (byte) token;
+        return op;
+    }
+
+    private static int writeLength(int len, byte[] dst, int op) {
+        while (len >= 255) {
+            dst[op++] = (byte) 255;
+            len -= 255;
+        }
+        dst[op++] = (byte) len;
+        return op;
+    }
+
+    private static int readInt(byte[] b, int i) {
+        return (b[i] & 0xFF) | ((b[i + 1] & 0xFF) << 8) | ((b[i + 2] & 0xFF) << 16) | ((b[i + 3] & 0xFF) << 24);
+    }
+
+    private static int hash(int seq) {
+        return (seq * -1640531535) >>> (32 - HASH_BITS);
+    }
+}
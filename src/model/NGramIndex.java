@@ -0,0 +1,115 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+// Trigram index for case-insensitive "contains" searches on one text field.
+// Postings hold row numbers (ascending, i.e. list order). A search only looks
+// at the rows that contain the rarest trigram of the keyword, then confirms
+// the full match against the row's text read back through `field`.
+// remove() must run while the row still holds its text.
+class NGramIndex {
+
+    private static final int N = 3;
+
+    private final IntFunction<String> field;    // row -> indexed text
+    private final IntSupplier rowCount;         // rows in the store (for short-keyword scans)
+    private final IntPredicate deleted;         // rows those scans skip (not yet dropped from the store)
+
+    // Trigram (three chars packed into a long) -> rows whose text contains it
+    private final HashMap<Long, RowList> postings;
+
+    NGramIndex(IntFunction<String> field, IntSupplier rowCount, IntPredicate deleted) {
+        this.field = field;
+        this.rowCount = rowCount;
+        this.deleted = deleted;
+        this.postings = new HashMap<>();
+    }
+
+    void add(int row) {
+        String text = fold(field.apply(row));
+        for (int i = 0; i + N <= text.length(); i++) {
+            postings.computeIfAbsent(gram(text, i), k -> new RowList()).add(row);
+        }
+    }
+
+    void remove(int row) {
+        String text = fold(field.apply(row));
+        for (int i = 0; i + N <= text.length(); i++) {
+            Long g = gram(text, i);
+            RowList list = postings.get(g);
+            if (list != null) {
+                list.remove(row);
+                if (list.isEmpty()) postings.remove(g);
+            }
+        }
+    }
+
+    // The store dropped rows (already taken out of this index); see RowList.renumber
+    void renumber(int[] newRow) {
+        for (RowList list : postings.values()) {
+            list.renumber(newRow);
+        }
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    // Upper bound on the rows search() returns: the rarest trigram's posting count
+    // (every row for keywords too short to have a trigram)
+    int estimate(String keyword) {
+        String key = fold(keyword);
+        if (key.length() < N) return rowCount.getAsInt();
+        RowList best = rarest(key);
+        return (best == null) ? 0 : best.size();
+    }
+
+    // Rows whose text contains the keyword, in list order (keyword already trimmed)
+    RowList search(String keyword) {
+        RowList results = new RowList();
+        String key = fold(keyword);
+        if (key.isEmpty()) return results;
+
+        if (key.length() < N) {
+            // Too short for a trigram: scan every row's text instead
+            int rows = rowCount.getAsInt();
+            for (int row = 0; row < rows; row++) {
+                if (!deleted.test(row) && fold(field.apply(row)).contains(key)) results.add(row);
+            }
+            return results;
+        }
+
+        RowList best = rarest(key);
+        if (best == null) return results;
+        for (int i = 0; i < best.size(); i++) {
+            int row = best.get(i);
+            if (key.length() == N || fold(field.apply(row)).contains(key)) {
+                results.add(row);
+            }
+        }
+        return results;
+    }
+
+    // Smallest posting list among the keyword's trigrams, or null if one has no rows
+    private RowList rarest(String key) {
+        RowList best = null;
+        for (int i = 0; i + N <= key.length(); i++) {
+            RowList list = postings.get(gram(key, i));
+            if (list == null) return null;
+            if (best == null || list.size() < best.size()) best = list;
+        }
+        return best;
+    }
+
+    private static long gram(String text, int i) {
+        return ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+    }
+
+    private static String fold(String text) {
+        return (text == null) ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
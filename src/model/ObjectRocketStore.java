@@ -0,0 +1,85 @@
+package model;
+
+import java.util.ArrayList;
+
+// Default row store: one Rocket object per row, as added (get returns that object)
+class ObjectRocketStore implements RocketStore {
+
+    private final ArrayList<Rocket> rockets = new ArrayList<>();
+
+    @Override
+    public int size() {
+        return rockets.size();
+    }
+
+    @Override
+    public Rocket get(int row) {
+        return rockets.get(row);
+    }
+
+    @Override
+    public String getRocketID(int row) {
+        return rockets.get(row).getRocketID();
+    }
+
+    @Override
+    public String getRocketName(int row) {
+        return rockets.get(row).getRocketName();
+    }
+
+    @Override
+    public int getCountryCode(int row) {
+        return rockets.get(row).getCountryCode();
+    }
+
+    @Override
+    public double getMass(int row) {
+        return rockets.get(row).getMass();
+    }
+
+    @Override
+    public double getThrust(int row) {
+        return rockets.get(row).getThrust();
+    }
+
+    @Override
+    public RocketStatus getStatus(int row) {
+        return rockets.get(row).getStatus();
+    }
+
+    @Override
+    public int getLaunchYear(int row) {
+        return rockets.get(row).getLaunchYear();
+    }
+
+    @Override
+    public void add(Rocket r) {
+        rockets.add(r);
+    }
+
+    @Override
+    public void set(int row, Rocket r) {
+        rockets.set(row, r);
+    }
+
+    @Override
+    public void removeRows(int[] rows) {
+        if (rows.length == 0) return;
+        int size = rockets.size();
+        int write = rows[0];
+        int next = 0;
+        for (int read = rows[0]; read < size; read++) {
+            if (next < rows.length && rows[next] == read) {
+                next++;
+            } else {
+                rockets.set(write++, rockets.get(read));
+            }
+        }
+        rockets.subList(write, size).clear();
+    }
+
+    @Override
+    public void clear() {
+        rockets.clear();
+    }
+}
@@ -0,0 +1,379 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Row store (see RocketInventory.openOffHeap) that keeps the records off-heap in
+// a memory-mapped file (FFM MemorySegment API). The data never passes through
+// the Java heap: opening an existing file maps it and is ready at once, nothing
+// is parsed, and it survives restarts. Field getters read the mapping directly.
+//
+// File layout (little endian):
+//   header, 32 bytes: magic "RKTS", version, record count (long),
+//     snapshot generation (long), journal cutoff (long); see markCopyOf
+//   records, RECORD_SIZE bytes each, in list order:
+//     id       1 length byte + 23 bytes UTF-8
+//     name     1 length byte + 63 bytes UTF-8
+//     country  1 length byte + 31 bytes UTF-8
+//     mass (double), thrust (double), launchYear (int), status ordinal (byte), 3 pad
+//
+// A string too long for its slot goes to the overflow file (<path>.overflow)
+// instead: the slot then holds length byte 0xFF, the offset (long) and the byte
+// length (int) of the string there. The overflow file is append-only; replaced
+// strings stay behind as garbage until the store is cleared.
+//
+// IOExceptions while writing come out as UncheckedIOException (RocketStore
+// methods can't throw them). Reads may run on several threads at once (the
+// inventory builds its indexes in parallel); writes need exclusive access.
+class OffHeapRocketStore implements RocketStore, AutoCloseable {
+
+    private static final int MAGIC = 0x53544B52;    // "RKTS" read as little endian
+    private static final int VERSION = 1;
+    private static final long HEADER_SIZE = 32;
+    private static final long OFF_GENERATION = 16;
+    private static final long OFF_CUTOFF = 24;
+    private static final long MODIFIED = -1;       // generation of a file that isn't a snapshot copy
+
+    private static final int ID_WIDTH = 24;
+    private static final int NAME_WIDTH = 64;
+    private static final int COUNTRY_WIDTH = 32;
+
+    private static final int OVERFLOW = 0xFF;       // length byte of a slot that points into the overflow file
+
+    private static final long OFF_ID = 0;
+    private static final long OFF_NAME = OFF_ID + ID_WIDTH;
+    private static final long OFF_COUNTRY = OFF_NAME + NAME_WIDTH;
+    private static final long OFF_MASS = OFF_COUNTRY + COUNTRY_WIDTH;
+    private static final long OFF_THRUST = OFF_MASS + 8;
+    private static final long OFF_YEAR = OFF_THRUST + 8;
+    private static final long OFF_STATUS = OFF_YEAR + 4;
+    static final long RECORD_SIZE = OFF_STATUS + 4;     // 144 bytes
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+
+    private final FileChannel channel;
+    private final FileChannel overflow;
+    private Arena arena;
+    private MemorySegment segment;
+    private long capacity;      // records the current mapping can hold
+    private int size;
+
+    private OffHeapRocketStore(FileChannel channel, FileChannel overflow) {
+        this.channel = channel;
+        this.overflow = overflow;
+    }
+
+    // Opens the store at path, creating an empty one if the file doesn't exist yet
+    static OffHeapRocketStore open(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel ov;
+        try {
+            ov = FileChannel.open(Path.of(path + ".overflow"), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException ex) {
+            ch.close();
+            throw ex;
+        }
+        OffHeapRocketStore store = new OffHeapRocketStore(ch, ov);
+
+        try {
+            if (ch.size() < HEADER_SIZE) {
+                store.map(16);
+                store.segment.set(INT, 0, MAGIC);
+                store.segment.set(INT, 4, VERSION);
+                store.segment.set(LONG, OFF_GENERATION, MODIFIED);
+                store.writeSize(0);
+            } else {
+                store.map((ch.size() - HEADER_SIZE) / RECORD_SIZE);
+                if (store.segment.get(INT, 0) != MAGIC || store.segment.get(INT, 4) != VERSION) {
+                    throw new IOException("Not a rocket store file (bad header): " + path);
+                }
+                long records = store.segment.get(LONG, 8);
+                if (records < 0 || records > Math.min(store.capacity, Integer.MAX_VALUE)) {
+                    throw new IOException("Rocket store file is truncated or corrupt: " + path);
+                }
+                store.size = (int) records;
+            }
+        } catch (IOException | RuntimeException ex) {
+            store.close();
+            throw ex;
+        }
+        return store;
+    }
+
+    // ========================= ROWS =========================
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void add(Rocket r) {
+        try {
+            ensureCapacity(size + 1);
+            write(size, r);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        writeSize(size + 1);
+    }
+
+    @Override
+    public void set(int row, Rocket r) {
+        checkRow(row);
+        try {
+            write(row, r);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Moves each run of kept records down over the dropped ones (one memmove
+    // inside the mapping per run)
+    @Override
+    public void removeRows(int[] rows) {
+        if (rows.length == 0) return;
+        int write = rows[0];
+        for (int i = 0; i < rows.length; i++) {
+            checkRow(rows[i]);
+            int from = rows[i] + 1;
+            int run = ((i + 1 < rows.length) ? rows[i + 1] : size) - from;
+            if (run > 0) {
+                MemorySegment.copy(segment, offset(from), segment, offset(write), offset(from + run) - offset(from));
+                write += run;
+            }
+        }
+        writeSize(write);
+    }
+
+    @Override
+    public void clear() {
+        writeSize(0);
+        try {
+            overflow.truncate(0);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public Rocket get(int row) {
+        checkRow(row);
+        long base = offset(row);
+        return new Rocket(
+                readString(base + OFF_ID),
+                readString(base + OFF_NAME),
+                readString(base + OFF_COUNTRY),
+                segment.get(DOUBLE, base + OFF_MASS),
+                segment.get(DOUBLE, base + OFF_THRUST),
+                STATUSES[segment.get(ValueLayout.JAVA_BYTE, base + OFF_STATUS)],
+                segment.get(INT, base + OFF_YEAR)
+        );
+    }
+
+    // ========================= FIELDS (no Rocket built) =========================
+
+    @Override
+    public String getRocketID(int row) {
+        checkRow(row);
+        return readString(offset(row) + OFF_ID);
+    }
+
+    @Override
+    public String getRocketName(int row) {
+        checkRow(row);
+        return readString(offset(row) + OFF_NAME);
+    }
+
+    // Stored as text: dictionary codes are only valid within one run
+    @Override
+    public String getCountry(int row) {
+        checkRow(row);
+        return readString(offset(row) + OFF_COUNTRY);
+    }
+
+    @Override
+    public int getCountryCode(int row) {
+        return CountryDictionary.intern(getCountry(row));
+    }
+
+    @Override
+    public double getMass(int row) {
+        checkRow(row);
+        return segment.get(DOUBLE, offset(row) + OFF_MASS);
+    }
+
+    @Override
+    public double getThrust(int row) {
+        checkRow(row);
+        return segment.get(DOUBLE, offset(row) + OFF_THRUST);
+    }
+
+    @Override
+    public RocketStatus getStatus(int row) {
+        checkRow(row);
+        return STATUSES[segment.get(ValueLayout.JAVA_BYTE, offset(row) + OFF_STATUS)];
+    }
+
+    @Override
+    public int getLaunchYear(int row) {
+        checkRow(row);
+        return segment.get(INT, offset(row) + OFF_YEAR);
+    }
+
+    // ========================= SNAPSHOT STAMP =========================
+    // The header records which saved snapshot (manifest generation and journal
+    // cutoff, see SegmentedSnapshotStore) the rows are an exact copy of, so a
+    // restart can use them instead of reading the snapshot again.
+
+    boolean isCopyOf(long generation, long journalCutoff) {
+        return segment.get(LONG, OFF_GENERATION) == generation
+                && segment.get(LONG, OFF_CUTOFF) == journalCutoff;
+    }
+
+    // Flushes the rows first, so the stamp never describes rows still in memory only
+    void markCopyOf(long generation, long journalCutoff) throws IOException {
+        force();
+        segment.set(LONG, OFF_GENERATION, generation);
+        segment.set(LONG, OFF_CUTOFF, journalCutoff);
+        segment.asSlice(0, HEADER_SIZE).force();
+    }
+
+    // Call before the first change: on disk before any row is
+    void markModified() {
+        segment.set(LONG, OFF_GENERATION, MODIFIED);
+        segment.asSlice(0, HEADER_SIZE).force();
+    }
+
+    // Flushes dirty pages of the mapping (and the overflow strings) to disk
+    void force() throws IOException {
+        overflow.force(false);
+        segment.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (arena != null) {
+            arena.close();
+            arena = null;
+        }
+        try {
+            overflow.close();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // ========================= INTERNALS =========================
+
+    private void write(int row, Rocket r) throws IOException {
+        // Encode every string (and write any overflow) before touching the record
+        byte[] id = slot(r.getRocketID(), ID_WIDTH);
+        byte[] name = slot(r.getRocketName(), NAME_WIDTH);
+        byte[] country = slot(r.getCountry(), COUNTRY_WIDTH);
+
+        long base = offset(row);
+        MemorySegment.copy(id, 0, segment, ValueLayout.JAVA_BYTE, base + OFF_ID, id.length);
+        MemorySegment.copy(name, 0, segment, ValueLayout.JAVA_BYTE, base + OFF_NAME, name.length);
+        MemorySegment.copy(country, 0, segment, ValueLayout.JAVA_BYTE, base + OFF_COUNTRY, country.length);
+        segment.set(DOUBLE, base + OFF_MASS, r.getMass());
+        segment.set(DOUBLE, base + OFF_THRUST, r.getThrust());
+        segment.set(INT, base + OFF_YEAR, r.getLaunchYear());
+        segment.set(ValueLayout.JAVA_BYTE, base + OFF_STATUS, (byte) r.getStatus().ordinal());
+    }
+
+    // The slot's bytes: length + UTF-8 inline if it fits, else an overflow reference
+    private byte[] slot(String value, int width) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < width) {
+            byte[] slot = new byte[1 + bytes.length];
+            slot[0] = (byte) bytes.length;
+            System.arraycopy(bytes, 0, slot, 1, bytes.length);
+            return slot;
+        }
+
+        long at = overflow.size();
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        while (buf.hasRemaining()) {
+            overflow.write(buf, at + buf.position());
+        }
+        ByteBuffer slot = ByteBuffer.allocate(1 + 8 + 4).order(ByteOrder.LITTLE_ENDIAN);
+        slot.put((byte) OVERFLOW).putLong(at).putInt(bytes.length);
+        return slot.array();
+    }
+
+    // Getters can't throw IOException, so a failed overflow read is unchecked
+    private String readString(long at) {
+        int len = segment.get(ValueLayout.JAVA_BYTE, at) & 0xFF;
+        if (len != OVERFLOW) {
+            byte[] bytes = new byte[len];
+            MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, at + 1, bytes, 0, len);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        long from = segment.get(LONG, at + 1);
+        ByteBuffer buf = ByteBuffer.allocate(segment.get(INT, at + 9));
+        try {
+            while (buf.hasRemaining()) {
+                if (overflow.read(buf, from + buf.position()) < 0) {
+                    throw new IOException("Overflow file is truncated");
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new String(buf.array(), StandardCharsets.UTF_8);
+    }
+
+    private void writeSize(int newSize) {
+        size = newSize;
+        segment.set(LONG, 8, newSize);
+    }
+
+    private void ensureCapacity(long records) throws IOException {
+        if (records <= capacity) return;
+        long newCapacity = Math.max(records, capacity * 2);
+        segment.force();
+        map(newCapacity);
+    }
+
+    // (Re)maps the file so it holds `records` records, growing the file if needed
+    private void map(long records) throws IOException {
+        long bytes = HEADER_SIZE + records * RECORD_SIZE;
+        if (channel.size() < bytes) {
+            channel.write(ByteBuffer.wrap(new byte[1]), bytes - 1);
+        }
+
+        if (arena != null) {
+            arena.close();
+        }
+        arena = Arena.ofShared();
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+        capacity = records;
+    }
+
+    private static long offset(int row) {
+        return HEADER_SIZE + row * RECORD_SIZE;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range (size " + size + ")");
+        }
+    }
+}
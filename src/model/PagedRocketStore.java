@@ -0,0 +1,134 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+// Read-only, paged view of a segmented store (see SegmentedSnapshotStore) for
+// data files too big to load before the dashboard appears. Opening reads only
+// the manifest, which gives the row offset of every page (one segment file).
+// Rows are fetched a page at a time on demand and kept in a small LRU cache,
+// so memory is bounded by the cache, not by the file.
+public class PagedRocketStore {
+
+    public static final int DEFAULT_CACHED_PAGES = 16;
+
+    private final Path[] pageFiles;
+    private final int[] pageStart;      // first row of each page; last entry = total rows
+
+    // The manifest's segment layout (one page per segment), generation and journal cutoff
+    final long[] segmentIds;
+    final int[] pageSizes;
+    private final long generation;
+    private final long journalCutoff;
+
+    private final LinkedHashMap<Integer, List<Rocket>> cache;
+    private long pageLoads;
+
+    PagedRocketStore(Path[] pageFiles, long[] segmentIds, int[] pageSizes,
+                     long generation, long journalCutoff, int cachedPages) {
+        this.pageFiles = pageFiles;
+        this.segmentIds = segmentIds;
+        this.pageSizes = pageSizes;
+        this.generation = generation;
+        this.journalCutoff = journalCutoff;
+        this.pageStart = new int[pageSizes.length + 1];
+        for (int i = 0; i < pageSizes.length; i++) {
+            pageStart[i + 1] = pageStart[i] + pageSizes[i];
+        }
+
+        int maxPages = Math.max(1, cachedPages);
+        // Access order + eldest eviction = LRU
+        this.cache = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Rocket>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    public int size() {
+        return pageStart[pageStart.length - 1];
+    }
+
+    // Identifies the saved snapshot (bumped by every save)
+    public long getGeneration() {
+        return generation;
+    }
+
+    // Journal records numbered below this are already in the data
+    public long getJournalCutoff() {
+        return journalCutoff;
+    }
+
+    public int getPageCount() {
+        return pageFiles.length;
+    }
+
+    public synchronized int getCachedPageCount() {
+        return cache.size();
+    }
+
+    // Pages read from disk so far (cache misses)
+    public synchronized long getPageLoads() {
+        return pageLoads;
+    }
+
+    // Throws UncheckedIOException if the page can't be read (List.get can't throw IOException)
+    public synchronized Rocket get(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("Row " + row + " of " + size());
+        }
+
+        int page = Arrays.binarySearch(pageStart, row);
+        if (page < 0) {
+            page = -page - 2;   // insertion point - 1 = page whose start is below row
+        } else {
+            while (pageStart[page + 1] == row) page++;  // skip empty pages
+        }
+
+        List<Rocket> rows = cache.get(page);
+        if (rows == null) {
+            rows = loadPage(page);
+            cache.put(page, rows);
+        }
+        return rows.get(row - pageStart[page]);
+    }
+
+    // Lazy list view; iterating it walks the file page by page
+    public List<Rocket> asList() {
+        return new RowView();
+    }
+
+    private List<Rocket> loadPage(int page) {
+        try {
+            List<Rocket> rows = BinarySnapshotCodec.decode(Files.readAllBytes(pageFiles[page]));
+            if (rows.size() != pageStart[page + 1] - pageStart[page]) {
+                throw new IOException("Segment file has the wrong row count: " + pageFiles[page]);
+            }
+            pageLoads++;
+            return rows;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private class RowView extends AbstractList<Rocket> implements RandomAccess {
+        @Override
+        public Rocket get(int index) {
+            return PagedRocketStore.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return PagedRocketStore.this.size();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Loads a big rocket CSV on all cores: the file is cut into chunks that end on
+// a newline, each chunk is memory-mapped, decoded and parsed on the fork-join
+// pool, and the chunk results are joined back together in file order.
+class ParallelCsvLoader {
+
+    // Aim for a few chunks per core so fast cores can steal the slow ones' work
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long MIN_CHUNK = 1L << 20;             // 1 MB
+    private static final long MAX_CHUNK = 1L << 28;             // 256 MB (one mapping each)
+
+    private ParallelCsvLoader() {
+    }
+
+    static ArrayList<Rocket> load(Path path, List<String> problems) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(ch);
+            int chunks = bounds.length - 1;
+
+            ChunkResult[] results = new ChunkResult[chunks];
+            try {
+                ForkJoinPool.commonPool().invoke(new ParseChunks(ch, bounds, results, 0, chunks));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            // Merge in file order; line numbers continue from the previous chunk
+            int total = 0;
+            for (ChunkResult r : results) {
+                total += r.rockets.size();
+            }
+            ArrayList<Rocket> all = new ArrayList<>(total);
+            int linesBefore = 0;
+            for (ChunkResult r : results) {
+                all.addAll(r.rockets);
+                r.parser.drainProblems(linesBefore, problems);
+                linesBefore += r.lineCount;
+            }
+            return all;
+        }
+    }
+
+    // Chunk start offsets plus the file size; every inner bound is just after a '\n'
+    private static long[] chunkBounds(FileChannel ch) throws IOException {
+        long size = ch.size();
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        long target = size / Math.max(1, threads * CHUNKS_PER_THREAD);
+        target = Math.max(MIN_CHUNK, Math.min(MAX_CHUNK, target));
+
+        ArrayList<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = 0;
+        while (size - pos > target) {
+            long next = nextLineStart(ch, pos + target, size);
+            if (next >= size) break;
+            bounds.add(next);
+            pos = next;
+        }
+        bounds.add(size);
+
+        long[] out = new long[bounds.size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = bounds.get(i);
+        }
+        return out;
+    }
+
+    private static long nextLineStart(FileChannel ch, long from, long size) throws IOException {
+        long window = 4096;
+        while (from < size) {
+            long len = Math.min(window, size - from);
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, from, len);
+            for (int i = 0; i < len; i++) {
+                if (buf.get(i) == '\n') {
+                    return from + i + 1;
+                }
+            }
+            from += len;
+        }
+        return size;
+    }
+
+    private static class ChunkResult {
+        final ArrayList<Rocket> rockets;
+        final RocketCsvParser parser;   // holds this chunk's skipped lines
+        final int lineCount;
+
+        ChunkResult(ArrayList<Rocket> rockets, RocketCsvParser parser, int lineCount) {
+            this.rockets = rockets;
+            this.parser = parser;
+            this.lineCount = lineCount;
+        }
+    }
+
+    // Splits the chunk range in half until one chunk is left, then parses it.
+    // Serializable only through ForkJoinTask; never serialized
+    @SuppressWarnings("serial")
+    private static class ParseChunks extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel ch;
+        private final long[] bounds;
+        private final ChunkResult[] results;
+        private final int lo;
+        private final int hi;
+
+        ParseChunks(FileChannel ch, long[] bounds, ChunkResult[] results, int lo, int hi) {
+            this.ch = ch;
+            this.bounds = bounds;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ParseChunks(ch, bounds, results, lo, mid),
+                        new ParseChunks(ch, bounds, results, mid, hi));
+                return;
+            }
+
+            try {
+                long start = bounds[lo];
+                long len = bounds[lo + 1] - start;
+                MappedByteBuffer bytes = ch.map(FileChannel.MapMode.READ_ONLY, start, len);
+
+                // Chunks start right after '\n', so no UTF-8 sequence is split
+                CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                CharBuffer chars = decoder.decode(bytes);
+
+                RocketCsvParser parser = new RocketCsvParser();
+                ArrayList<Rocket> rockets = new ArrayList<>();
+                int from = chars.arrayOffset() + chars.position();
+                int lines = parser.parse(chars.array(), from, from + chars.remaining(), 1, rockets);
+
+                results[lo] = new ChunkResult(rockets, parser, lines);
+
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -3,22 +3,38 @@ package model;
 public class Rocket {
     private String rocketID;
     private String rocketName;
-    private String country;
+    private int countryCode;   // code in CountryDictionary (shared across rockets)
     private double mass;
     private double thrust;
-    private String status;     // Active, Inactive, Testing
+    private RocketStatus status;
     private int launchYear;
 
-    public Rocket(String rocketID, String rocketName, String country, double mass, double thrust, String status, int launchYear) {
+    public Rocket(String rocketID, String rocketName, String country, double mass, double thrust, RocketStatus status, int launchYear) {
+        this.rocketID = rocketID;
+        this.rocketName = rocketName;
+        this.countryCode = CountryDictionary.intern(country);
+        this.mass = mass;
+        this.thrust = thrust;
+        this.status = status;
+        this.launchYear = launchYear;
+    }
+
+    // Country given as its CountryDictionary code (row stores already hold it; no re-interning)
+    Rocket(String rocketID, String rocketName, int countryCode, double mass, double thrust, RocketStatus status, int launchYear) {
         this.rocketID = rocketID;
         this.rocketName = rocketName;
-        this.country = country;
+        this.countryCode = countryCode;
         this.mass = mass;
         this.thrust = thrust;
         this.status = status;
         this.launchYear = launchYear;
     }
 
+    // Status given as text (form/CSV); throws IllegalArgumentException if it isn't a known status
+    public Rocket(String rocketID, String rocketName, String country, double mass, double thrust, String status, int launchYear) {
+        this(rocketID, rocketName, country, mass, thrust, RocketStatus.parse(status), launchYear);
+    }
+
     // Getters
     public String getRocketID() {
         return rocketID;
@@ -29,7 +45,11 @@ public class Rocket {
     }
     
     public String getCountry() {
-    return country;
+        return CountryDictionary.nameOf(countryCode);
+    }
+
+    public int getCountryCode() {
+        return countryCode;
     }
 
     public double getMass() {
@@ -40,7 +60,7 @@ public class Rocket {
         return thrust;
     }
 
-    public String getStatus() {
+    public RocketStatus getStatus() {
         return status;
     }
 
@@ -58,7 +78,7 @@ public class Rocket {
     }
     
     public void setCountry(String country) {
-    this.country = country;
+        this.countryCode = CountryDictionary.intern(country);
     }
 
     public void setMass(double mass) {
@@ -69,7 +89,7 @@ public class Rocket {
         this.thrust = thrust;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(RocketStatus status) {
         this.status = status;
     }
 
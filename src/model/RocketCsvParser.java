@@ -0,0 +1,295 @@
+package model;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Hand-rolled CSV tokenizer for the rocket file.
+// Lines are parsed straight out of a reusable char buffer: field bounds are
+// kept as offsets, numbers and statuses are read from the chars directly, and
+// only the ID, name and country become Strings. Accepts both formats:
+//   old (6): rocketID,rocketName,mass,thrust,status,launchYear
+//   new (7): rocketID,rocketName,country,mass,thrust,status,launchYear
+// Lines starting with '#' are ignored. Bad lines are skipped and remembered; drainProblems() reports them as
+// "Line N: reason".
+class RocketCsvParser {
+
+    private static final int MAX_FIELDS = 7;
+
+    // Powers of ten that are exact doubles (fast path of parseDouble)
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+
+    // Skipped lines (line number + reason), reported by drainProblems
+    private int[] problemLines = new int[8];
+    private final ArrayList<String> problemReasons = new ArrayList<>();
+
+    // Field bounds of the current line (reused for every line)
+    private final int[] fieldStart = new int[MAX_FIELDS + 1];
+    private final int[] fieldEnd = new int[MAX_FIELDS + 1];
+
+    private char[] lineBuf = new char[256];
+
+    RocketCsvParser() {
+    }
+
+    // Moves the skipped-line reports into out (if not null). lineOffset is added
+    // to every line number, for text that was parsed as a chunk of a bigger file.
+    void drainProblems(int lineOffset, List<String> out) {
+        if (out != null) {
+            for (int i = 0; i < problemReasons.size(); i++) {
+                out.add("Line " + (problemLines[i] + lineOffset) + ": " + problemReasons.get(i));
+            }
+        }
+        problemReasons.clear();
+    }
+
+    // Reads the whole stream line by line; returns the number of lines read
+    int parse(Reader in, List<Rocket> out) throws IOException {
+        char[] chunk = new char[1 << 16];
+        int lineLen = 0;
+        int lineNo = 0;
+        int n;
+
+        while ((n = in.read(chunk)) != -1) {
+            for (int i = 0; i < n; i++) {
+                char c = chunk[i];
+                if (c == '\n') {
+                    addLine(lineBuf, 0, lineLen, ++lineNo, out);
+                    lineLen = 0;
+                } else {
+                    if (lineLen == lineBuf.length) {
+                        lineBuf = Arrays.copyOf(lineBuf, lineLen * 2);
+                    }
+                    lineBuf[lineLen++] = c;
+                }
+            }
+        }
+        if (lineLen > 0) {
+            addLine(lineBuf, 0, lineLen, ++lineNo, out);
+        }
+        return lineNo;
+    }
+
+    // Parses every line in buf[from, to); firstLineNo is the line number of the first one.
+    // Returns the number of lines seen.
+    int parse(char[] buf, int from, int to, int firstLineNo, List<Rocket> out) {
+        int lineNo = firstLineNo;
+        int start = from;
+        for (int i = from; i < to; i++) {
+            if (buf[i] == '\n') {
+                addLine(buf, start, i, lineNo++, out);
+                start = i + 1;
+            }
+        }
+        if (start < to) {
+            addLine(buf, start, to, lineNo++, out);
+        }
+        return lineNo - firstLineNo;
+    }
+
+    // One line given as a String (bulk import); same rules as the file
+    Rocket parseLine(String line, int lineNo) {
+        int n = line.length();
+        if (n > lineBuf.length) {
+            lineBuf = new char[Math.max(n, lineBuf.length * 2)];
+        }
+        line.getChars(0, n, lineBuf, 0);
+        return parseLine(lineBuf, 0, n, lineNo);
+    }
+
+    // Why the last rejected line was skipped (and forgets it); null if nothing was
+    String takeProblem() {
+        int n = problemReasons.size();
+        return (n == 0) ? null : problemReasons.remove(n - 1);
+    }
+
+    // Blank and '#' lines, which parseLine skips without a problem
+    static boolean isSkipped(String line) {
+        int i = 0;
+        while (i < line.length() && line.charAt(i) <= ' ') i++;
+        return i == line.length() || line.charAt(i) == '#';
+    }
+
+    private void addLine(char[] buf, int start, int end, int lineNo, List<Rocket> out) {
+        Rocket r = parseLine(buf, start, end, lineNo);
+        if (r != null) {
+            out.add(r);
+        }
+    }
+
+    // One line (without its '\n'); null for blank or bad lines
+    Rocket parseLine(char[] buf, int start, int end, int lineNo) {
+        // Trim the whole line (this also drops a Windows '\r')
+        while (start < end && buf[start] <= ' ') start++;
+        while (end > start && buf[end - 1] <= ' ') end--;
+        if (start == end) return null;
+
+        // '#' lines are comments
+        if (buf[start] == '#') return null;
+
+        // Split on commas, keeping empty fields
+        int fields = 0;
+        int fs = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buf[i] == ',') {
+                if (fields == MAX_FIELDS) {
+                    fields++;
+                    break;
+                }
+                fieldStart[fields] = fs;
+                fieldEnd[fields] = i;
+                fields++;
+                fs = i + 1;
+            }
+        }
+
+        if (fields != 6 && fields != 7) {
+            problem(lineNo, "expected 6 or 7 fields but found " + (fields > MAX_FIELDS ? "more than 7" : fields));
+            return null;
+        }
+
+        // Old format has no country column: shift the numeric fields by one
+        int f = (fields == 6) ? 1 : 0;
+        String field = "Mass";
+        try {
+            String id = text(buf, 0);
+            String name = text(buf, 1);
+            String country = (fields == 6) ? "Unknown" : text(buf, 2);
+
+            double mass = parseDouble(buf, 3 - f);
+            field = "Thrust";
+            double thrust = parseDouble(buf, 4 - f);
+
+            RocketStatus status = parseStatus(buf, 5 - f);
+            if (status == null) {
+                problem(lineNo, "unknown status '" + text(buf, 5 - f) + "'");
+                return null;
+            }
+
+            field = "Launch Year";
+            int year = parseInt(buf, 6 - f);
+
+            return new Rocket(id, name, country, mass, thrust, status, year);
+
+        } catch (NumberFormatException ex) {
+            problem(lineNo, field + " is not a valid number");
+            return null;
+        }
+    }
+
+    private void problem(int lineNo, String message) {
+        int n = problemReasons.size();
+        if (n == problemLines.length) {
+            problemLines = Arrays.copyOf(problemLines, n * 2);
+        }
+        problemLines[n] = lineNo;
+        problemReasons.add(message);
+    }
+
+    // ========================= FIELD DECODING =========================
+
+    private String text(char[] buf, int field) {
+        int s = fieldStart[field];
+        int e = fieldEnd[field];
+        while (s < e && buf[s] <= ' ') s++;
+        while (e > s && buf[e - 1] <= ' ') e--;
+        return new String(buf, s, e - s);
+    }
+
+    private RocketStatus parseStatus(char[] buf, int field) {
+        int s = fieldStart[field];
+        int e = fieldEnd[field];
+        while (s < e && buf[s] <= ' ') s++;
+        while (e > s && buf[e - 1] <= ' ') e--;
+
+        for (RocketStatus status : STATUSES) {
+            String label = status.getLabel();
+            if (label.length() != e - s) continue;
+
+            boolean same = true;
+            for (int i = 0; i < label.length() && same; i++) {
+                same = Character.toLowerCase(buf[s + i]) == Character.toLowerCase(label.charAt(i));
+            }
+            if (same) return status;
+        }
+        return null;
+    }
+
+    private int parseInt(char[] buf, int field) {
+        int s = fieldStart[field];
+        int e = fieldEnd[field];
+        while (s < e && buf[s] <= ' ') s++;
+        while (e > s && buf[e - 1] <= ' ') e--;
+
+        boolean negative = false;
+        if (s < e && (buf[s] == '-' || buf[s] == '+')) {
+            negative = buf[s] == '-';
+            s++;
+        }
+        if (s == e) throw new NumberFormatException();
+
+        long value = 0;
+        for (int i = s; i < e; i++) {
+            char c = buf[i];
+            if (c < '0' || c > '9') throw new NumberFormatException();
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) throw new NumberFormatException();
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) throw new NumberFormatException();
+        return (int) value;
+    }
+
+    // Fast path for plain decimals like "549.0" or "-12.5": up to 15 significant
+    // digits scaled by an exact power of ten gives the correctly rounded double.
+    // Anything else (exponents, long mantissas, "NaN", ...) falls back to
+    // Double.parseDouble, which also rejects invalid text.
+    private double parseDouble(char[] buf, int field) {
+        int s = fieldStart[field];
+        int e = fieldEnd[field];
+        while (s < e && buf[s] <= ' ') s++;
+        while (e > s && buf[e - 1] <= ' ') e--;
+
+        int i = s;
+        boolean negative = false;
+        if (i < e && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean seenDot = false;
+        boolean simple = i < e;
+
+        for (; i < e && simple; i++) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') digits++;
+                mantissa = mantissa * 10 + (c - '0');
+                if (seenDot) fractionDigits++;
+                simple = digits <= 15;
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                simple = false;
+            }
+        }
+
+        // Need at least one digit ("." or "-" alone are not numbers)
+        if (simple && fractionDigits < POW10.length && (e - s) > (seenDot ? 1 : 0) + (negative || buf[s] == '+' ? 1 : 0)) {
+            double value = (double) mantissa / POW10[fractionDigits];
+            return negative ? -value : value;
+        }
+
+        return Double.parseDouble(new String(buf, s, e - s));
+    }
+}
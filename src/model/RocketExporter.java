@@ -0,0 +1,305 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Streaming export of any row source (a query result, the whole inventory, the
+// rows on screen) to CSV, JSON-lines or a columnar binary file. Rows go from the
+// source straight to disk; nothing is copied into a list first, except one row
+// group at a time for the columnar format. For example
+//   exporter.export(sink -> inventory.forEachMatch(query, sink), target)
+// The file is written under <target>.part and renamed when complete, so a failed
+// or cancelled export never leaves a half-written file behind. Cancel by
+// interrupting the exporting thread.
+public class RocketExporter {
+
+    public enum Format {
+        CSV(".csv"),
+        JSON_LINES(".jsonl"),
+        COLUMNAR(".rkc");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    // Feeds every row to the sink, in export order
+    public interface RowSource {
+        void forEachRow(Consumer<? super Rocket> sink);
+    }
+
+    // Called every PROGRESS_STEP rows and once at the end
+    public interface Progress {
+        void rowsWritten(long rows);
+    }
+
+    public static final int PROGRESS_STEP = 8192;
+
+    // Columnar file (big-endian):
+    //   magic "RKCF", version (short)
+    //   row groups of up to ROW_GROUP_ROWS rows, each one binary snapshot (see BinarySnapshotCodec)
+    //   footer: per group offset (long), length (int), rows (int), min and max launch year (int, int);
+    //           group count (int), total rows (long), CRC32 of the footer so far (int)
+    //   footer length (int), magic "RKCF"
+    // A reader seeks to the end, reads the footer and can skip groups by launch year.
+    static final int COLUMNAR_MAGIC = 0x524B4346;  // "RKCF"
+    static final short COLUMNAR_VERSION = 1;
+    static final int ROW_GROUP_ROWS = 64 * 1024;
+
+    private final Format format;
+    private final Progress progress;
+
+    public RocketExporter(Format format, Progress progress) {
+        this.format = format;
+        this.progress = progress;
+    }
+
+    // Returns the number of rows written
+    public long export(RowSource rows, Path target) throws IOException {
+        Path part = Path.of(target + ".part");
+        RowWriter writer = null;
+        boolean done = false;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 1 << 16)) {
+            writer = switch (format) {
+                case CSV -> new CsvWriter(out);
+                case JSON_LINES -> new JsonLinesWriter(out);
+                case COLUMNAR -> new ColumnarWriter(out);
+            };
+
+            RowWriter w = writer;
+            try {
+                rows.forEachRow(r -> {
+                    try {
+                        w.write(r);
+                        if (w.count % PROGRESS_STEP == 0) {
+                            step(w.count);
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+
+            writer.finish();
+            done = true;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(part);
+            }
+        }
+
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+        if (progress != null) {
+            progress.rowsWritten(writer.count);
+        }
+        return writer.count;
+    }
+
+    private void step(long rows) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Export cancelled");
+        }
+        if (progress != null) {
+            progress.rowsWritten(rows);
+        }
+    }
+
+    // ========================= WRITERS =========================
+
+    private abstract static class RowWriter {
+        long count;
+
+        final void write(Rocket r) throws IOException {
+            writeRow(r);
+            count++;
+        }
+
+        abstract void writeRow(Rocket r) throws IOException;
+
+        abstract void finish() throws IOException;
+    }
+
+    // Same 7-column lines as the data file, so the export imports back unchanged
+    private static class CsvWriter extends RowWriter {
+        final Writer out;
+
+        CsvWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void writeRow(Rocket r) throws IOException {
+            out.write(RocketFileManager.toCsvLine(r));
+            out.write('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    // One object per line with the field names the bulk importer reads
+    private static class JsonLinesWriter extends RowWriter {
+        final Writer out;
+        final StringBuilder line = new StringBuilder(128);
+
+        JsonLinesWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        void writeRow(Rocket r) throws IOException {
+            line.setLength(0);
+            line.append("{\"rocketID\":");
+            string(r.getRocketID());
+            line.append(",\"rocketName\":");
+            string(r.getRocketName());
+            line.append(",\"country\":");
+            string(r.getCountry());
+            line.append(",\"mass\":");
+            number(r.getMass());
+            line.append(",\"thrust\":");
+            number(r.getThrust());
+            line.append(",\"status\":");
+            string(r.getStatus().toString());
+            line.append(",\"launchYear\":").append(r.getLaunchYear());
+            line.append("}\n");
+            out.write(line.toString());
+        }
+
+        private void string(String s) {
+            line.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                switch (ch) {
+                    case '"' -> line.append("\\\"");
+                    case '\\' -> line.append("\\\\");
+                    case '\n' -> line.append("\\n");
+                    case '\r' -> line.append("\\r");
+                    case '\t' -> line.append("\\t");
+                    default -> {
+                        if (ch < ' ') {
+                            line.append(String.format("\\u%04x", (int) ch));
+                        } else {
+                            line.append(ch);
+                        }
+                    }
+                }
+            }
+            line.append('"');
+        }
+
+        // JSON has no NaN/Infinity
+        private void number(double d) {
+            if (Double.isFinite(d)) {
+                line.append(d);
+            } else {
+                line.append("null");
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static class ColumnarWriter extends RowWriter {
+        final DataOutputStream out;
+        final ArrayList<Rocket> group = new ArrayList<>();
+        final GroupIndex index = new GroupIndex();
+        long offset;
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+
+        ColumnarWriter(OutputStream out) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.out.writeInt(COLUMNAR_MAGIC);
+            this.out.writeShort(COLUMNAR_VERSION);
+            offset = 6;
+        }
+
+        @Override
+        void writeRow(Rocket r) throws IOException {
+            group.add(r);
+            minYear = Math.min(minYear, r.getLaunchYear());
+            maxYear = Math.max(maxYear, r.getLaunchYear());
+            if (group.size() == ROW_GROUP_ROWS) {
+                flushGroup();
+            }
+        }
+
+        private void flushGroup() throws IOException {
+            byte[] bytes = BinarySnapshotCodec.encode(group, RocketFileManager.COMPRESS_SNAPSHOTS);
+            index.addGroup(offset, bytes.length, group.size(), minYear, maxYear);
+            out.write(bytes);
+            offset += bytes.length;
+
+            group.clear();
+            minYear = Integer.MAX_VALUE;
+            maxYear = Integer.MIN_VALUE;
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (!group.isEmpty()) {
+                flushGroup();
+            }
+            byte[] bytes = index.encode(count);
+            out.write(bytes);
+            out.writeInt(bytes.length);
+            out.writeInt(COLUMNAR_MAGIC);
+            out.flush();
+        }
+    }
+
+    // Row group index written at the end of a columnar file
+    private static class GroupIndex {
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(buf);
+        int groups;
+
+        void addGroup(long offset, int length, int rows, int minYear, int maxYear) throws IOException {
+            data.writeLong(offset);
+            data.writeInt(length);
+            data.writeInt(rows);
+            data.writeInt(minYear);
+            data.writeInt(maxYear);
+            groups++;
+        }
+
+        byte[] encode(long totalRows) throws IOException {
+            data.writeInt(groups);
+            data.writeLong(totalRows);
+            CRC32 crc = new CRC32();
+            crc.update(buf.toByteArray());
+            data.writeInt((int) crc.getValue());
+            return buf.toByteArray();
+        }
+    }
+}
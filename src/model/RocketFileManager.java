@@ -1,76 +1,112 @@
 package model;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
 public class RocketFileManager {
 
+    // Files at least this big are memory-mapped and parsed in parallel chunks
+    public static final long PARALLEL_LOAD_THRESHOLD = 8L << 20;   // 8 MB
+
+    // Segment files are binary snapshots (see BinarySnapshotCodec); CSV stays the import/export format
+    public static final boolean COMPRESS_SNAPSHOTS = true;
+
     // CSV formatgi:
     // rocketID,rocketName,country,mass,thrust,status,launchYear
     //
 
     public static ArrayList<Rocket> loadFromFile(String filePath) throws IOException {
+        return loadFromFile(filePath, null);
+    }
+
+    // Same as above, but every skipped line is described in `problems`
+    // as "Line N: reason" (pass null to ignore them).
+    public static ArrayList<Rocket> loadFromFile(String filePath, List<String> problems) throws IOException {
         ArrayList<Rocket> list = new ArrayList<>();
         File file = new File(filePath);
 
-        // If file doesn't exist, return empty list (controller will seed)
+        // If no file exists, return empty list (controller will seed)
         if (!file.exists()) {
             return list;
         }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-            String line;
-
-            while ((line = br.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty()) continue;
-
-                // Split into fields (allow empty fields)
-                String[] parts = line.split(",", -1);
-
-                // Accept BOTH old(6) and new(7) formats
-                if (parts.length != 6 && parts.length != 7) {
-                    // skip invalid line
-                    continue;
-                }
-
-                String id = parts[0].trim();
-                String name = parts[1].trim();
-
-                String country;
-                double mass;
-                double thrust;
-                String status;
-                int year;
-
-                if (parts.length == 6) {
-                    // Old format: no country
-                    country = "Unknown";
-                    mass = Double.parseDouble(parts[2].trim());
-                    thrust = Double.parseDouble(parts[3].trim());
-                    status = parts[4].trim();
-                    year = Integer.parseInt(parts[5].trim());
-                } else {
-                    // New format: includes country
-                    country = parts[2].trim();
-                    mass = Double.parseDouble(parts[3].trim());
-                    thrust = Double.parseDouble(parts[4].trim());
-                    status = parts[5].trim();
-                    year = Integer.parseInt(parts[6].trim());
-                }
-
-                // IMPORTANT: Your Rocket constructor must now be:
-                // Rocket(String id, String name, String country, double mass, double thrust, String status, int year)
-                Rocket r = new Rocket(id, name, country, mass, thrust, status, year);
-                list.add(r);
-            }
+        if (file.length() >= PARALLEL_LOAD_THRESHOLD) {
+            return ParallelCsvLoader.load(file.toPath(), problems);
+        }
+
+        // Streaming tokenizer: no per-line String/split/trim garbage
+        try (Reader in = new FileReader(file, StandardCharsets.UTF_8)) {
+            RocketCsvParser parser = new RocketCsvParser();
+            parser.parse(in, list);
+            parser.drainProblems(0, problems);
         }
 
         return list;
     }
 
-    public static void saveToFile(String filePath, List<Rocket> rockets) throws IOException {
+    // NEW 7-column format (also what exports write, so they import back as-is)
+    static String toCsvLine(Rocket r) {
+        return r.getRocketID() + "," +
+                r.getRocketName() + "," +
+                r.getCountry() + "," +
+                r.getMass() + "," +
+                r.getThrust() + "," +
+                r.getStatus() + "," +
+                r.getLaunchYear();
+    }
+
+    // ========================= SEGMENTED STORE =========================
+    // Manifest at filePath, one binary snapshot per segment next to it (see
+    // SegmentedSnapshotStore). Saves only rewrite the segments in the delta.
+
+    // True if the store (or its previous generation) is on disk
+    public static boolean snapshotExists(String filePath) {
+        return new File(filePath).exists() || new File(filePath + ".bak").exists();
+    }
+
+    public static SegmentedSnapshot loadSegments(String filePath, List<String> problems) throws IOException {
+        return SegmentedSnapshotStore.load(filePath, problems);
+    }
+
+    // A failed delta is kept and folded into the next save of the same store
+    public static void saveSegments(String filePath, InventoryDelta delta) throws IOException {
+        SegmentedSnapshotStore.save(filePath, delta);
+    }
+
+    // False while the changes of a failed save are still waiting to be written
+    public static boolean isFullySaved(String filePath) {
+        return !SegmentedSnapshotStore.hasUnsaved(filePath);
+    }
+
+    // For a store that can't be read: moves all of its files into a new folder
+    // next to it (returned; null if there were none), so a fresh store can be
+    // started without overwriting them. Recover from that folder by hand.
+    public static Path moveStoreAside(String filePath) throws IOException {
+        return SegmentedSnapshotStore.moveAside(filePath);
+    }
+
+    // Opens the store for on-demand reads without loading any rows (see PagedRocketStore)
+    public static PagedRocketStore openPaged(String filePath) throws IOException {
+        return SegmentedSnapshotStore.openPaged(filePath, PagedRocketStore.DEFAULT_CACHED_PAGES);
+    }
+
+    // ========================= ATOMIC WRITE =========================
+
+    interface BodyWriter {
+        void write(FileOutputStream out) throws IOException;
+    }
+
+    // Crash-safe replace: writes <file>.tmp and fsyncs it, moves the current file
+    // to <file>.bak (the previous generation), then renames the temp file into
+    // place. A crash at any point leaves either the old or the new file intact.
+    static void writeAtomically(String filePath, BodyWriter writer) throws IOException {
         File file = new File(filePath);
 
         // Ensure parent directory exists
@@ -79,21 +115,29 @@ public class RocketFileManager {
             parent.mkdirs();
         }
 
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file))) {
-            for (Rocket r : rockets) {
-                // NEW 7-column format
-                String line =
-                        r.getRocketID() + "," +
-                        r.getRocketName() + "," +
-                        r.getCountry() + "," +
-                        r.getMass() + "," +
-                        r.getThrust() + "," +
-                        r.getStatus() + "," +
-                        r.getLaunchYear();
-
-                bw.write(line);
-                bw.newLine();
-            }
+        Path target = file.toPath();
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Path backup = target.resolveSibling(target.getFileName() + ".bak");
+
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile())) {
+            writer.write(fos);
+            fos.getChannel().force(true);
+        }
+
+        if (Files.exists(target)) {
+            Files.move(target, backup, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    // Makes the renames durable (works on Linux/macOS; not supported everywhere)
+    static void syncDirectory(Path dir) {
+        if (dir == null) return;
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException ex) {
+            // Directory fsync isn't available on this platform; the rename is still atomic
         }
     }
 }
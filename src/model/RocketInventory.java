@@ -1,42 +1,138 @@
 package model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Queue;
+import java.util.Locale;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
 
 public class RocketInventory {
 
-    // Main storage
-    private final ArrayList<Rocket> rocketList;
+    // How the rows are held (chosen when the inventory is built; openOffHeap
+    // builds one whose rows are in a memory-mapped file instead)
+    public enum Storage {
+        OBJECTS,    // one Rocket object per row (default)
+        COLUMNAR    // one primitive array per field; Rockets are built only when a row is read
+    }
 
-    // Recently added (last 5)
-    private final Queue<Rocket> recentQueue;
+    // Main storage, in list order. Every index below holds row numbers into it.
+    // Deleted rows stay in it until compact(); everything that walks the store skips them.
+    private final RocketStore store;
+
+    // Store rows that were deleted, and list position <-> row number
+    private final DeletedRows deleted;
+
+    // Deleted rows are dropped once there are this many and a quarter of the
+    // store: each delete then pays for an O(1) share of the renumbering pass
+    private static final int COMPACT_MIN_ROWS = 1024;
+
+    // Case-folded rocket name -> rows (first match wins, like the old scan)
+    private final RowHashIndex nameIndex;
+
+    // Rocket ID -> rows (first match wins)
+    private final RowHashIndex idIndex;
+
+    // Sorted indexes (kept up to date on every add/update/delete)
+    private final SortedRocketIndex byName;
+    private final SortedRocketIndex byLaunchYear;
+    private final SortedRocketIndex byMass;
+    private final SortedRocketIndex byThrust;
+
+    // Trigram indexes for partial (substring) search
+    private final NGramIndex nameGrams;
+    private final NGramIndex countryGrams;
+
+    // Launch year -> rows of that year, in list order
+    private final YearBucketIndex yearBuckets;
+
+    // Status ordinal -> rows with that status, in list order (also the Home tab's status counts)
+    private final RowList[] statusRows;
+
+    // Live counters for the Home tab (CountryDictionary code / decade start year)
+    private int[] countryCounts;
+    private final HashMap<Integer, Integer> decadeCounts;
+
+    // Which on-disk segments changed since the last persist (delta saves)
+    private final SegmentTracker segments;
+
+    // Bumped when a change starts; row views (viewAllRockets) check it on every read
+    private volatile int changeCount;
 
     public RocketInventory() {
-        rocketList = new ArrayList<>();
-        recentQueue = new LinkedList<>();
+        this(Storage.OBJECTS);
+    }
+
+    public RocketInventory(Storage storage) {
+        this((storage == Storage.COLUMNAR) ? new ColumnarRocketStore() : new ObjectRocketStore());
+    }
+
+    // store must be empty, or its rows indexed with indexRows before use
+    private RocketInventory(RocketStore store) {
+        this.store = store;
+        deleted = new DeletedRows();
+        deleted.reset(store.size());
+
+        nameIndex = new RowHashIndex(row -> nameKey(store.getRocketName(row)));
+        idIndex = new RowHashIndex(row -> idKey(store.getRocketID(row)));
+
+        // Name (ignoring case), launch year, mass, thrust
+        byName = new SortedRocketIndex((a, b) -> store.getRocketName(a).compareToIgnoreCase(store.getRocketName(b)));
+        byLaunchYear = new SortedRocketIndex((a, b) -> Integer.compare(store.getLaunchYear(a), store.getLaunchYear(b)));
+        byMass = new SortedRocketIndex((a, b) -> Double.compare(store.getMass(a), store.getMass(b)));
+        byThrust = new SortedRocketIndex((a, b) -> Double.compare(store.getThrust(a), store.getThrust(b)));
+
+        nameGrams = new NGramIndex(store::getRocketName, store::size, deleted::isDeleted);
+        countryGrams = new NGramIndex(store::getCountry, store::size, deleted::isDeleted);
+        yearBuckets = new YearBucketIndex();
+        statusRows = new RowList[RocketStatus.values().length];
+        for (int i = 0; i < statusRows.length; i++) {
+            statusRows[i] = new RowList();
+        }
+        countryCounts = new int[16];
+        decadeCounts = new HashMap<>();
+        segments = new SegmentTracker();
     }
 
     // ========================= BASIC GETTERS =========================
 
     public ArrayList<Rocket> getAllRockets() {
-        return new ArrayList<>(rocketList);
+        return rows(0, deleted.liveRows());
+    }
+
+    // The whole inventory for display, in list order. With the object store this
+    // is the same copy getAllRockets() makes. The other stores return a read-only
+    // view that builds each Rocket when it is read, so showing a large inventory
+    // doesn't put a second copy of it on the heap. A view goes stale at the next
+    // change (its reads then throw ConcurrentModificationException): take a new
+    // one after every change, and don't read it while another thread changes the inventory.
+    public List<Rocket> viewAllRockets() {
+        return (store instanceof ObjectRocketStore) ? getAllRockets() : new RowView();
+    }
+
+    // True if the list came from viewAllRockets() and reads the store directly
+    public boolean isLiveView(List<Rocket> rockets) {
+        return rockets instanceof RowView;
     }
 
+    // Recently added (last 5)
     public List<Rocket> getRecentRockets() {
-        return new ArrayList<>(recentQueue);
+        return rows(Math.max(0, deleted.liveRows() - 5), deleted.liveRows());
     }
 
     // ========================= DUPLICATE CHECK =========================
     // Equivalent to "no duplicate titles" guideline (we use Rocket Name).
     public boolean isDuplicateRocketName(String rocketName) {
-        for (Rocket r : rocketList) {
-            if (r.getRocketName().equalsIgnoreCase(rocketName)) {
-                return true;
-            }
-        }
-        return false;
+        return nameIndex.contains(nameKey(rocketName));
     }
 
     // ========================= CRUD =========================
@@ -46,252 +142,662 @@ public class RocketInventory {
             return false;
         }
 
-        rocketList.add(rocket);
+        changeCount++;
+        store.add(rocket);
+        deleted.appended();
+        indexRow(store.size() - 1);
+        segments.appended();
+        return true;
+    }
 
-        // Update recent queue (keep last 5)
-        recentQueue.add(rocket);
-        while (recentQueue.size() > 5) {
-            recentQueue.remove(); // removes oldest
+    // Bulk add (imports). Rows whose name is already taken are skipped, like
+    // addRocket. The indexes don't depend on each other, so each one is filled
+    // by its own task on the fork-join pool. Returns how many were added.
+    public int addAll(List<Rocket> rockets) {
+        ArrayList<Rocket> added = new ArrayList<>(rockets.size());
+        HashSet<String> names = new HashSet<>();
+        for (Rocket r : rockets) {
+            String key = nameKey(r.getRocketName());
+            if (!nameIndex.contains(key) && names.add(key)) {
+                added.add(r);
+            }
         }
+        if (added.isEmpty()) return 0;
 
-        return true;
+        appendAll(added);
+        for (int i = 0; i < added.size(); i++) {
+            segments.appended();
+        }
+        return added.size();
     }
 
     public boolean updateRocket(String rocketNameKey, Rocket updatedRocket) {
-        int index = findRocketIndexByName(rocketNameKey);
-        if (index == -1) return false;
-
-        rocketList.set(index, updatedRocket);
-
-        // Keep recent queue consistent with current list
-        rebuildRecentQueue();
+        int row = nameIndex.first(nameKey(rocketNameKey));
+        if (row == -1) return false;
+
+        // The replacement takes over the old rocket's row (and so its place in list order)
+        changeCount++;
+        unindexRow(row);
+        store.set(row, updatedRocket);
+        indexRow(row);
+        segments.changed(deleted.position(row));
         return true;
     }
 
     public boolean deleteRocket(String rocketNameKey) {
-        int index = findRocketIndexByName(rocketNameKey);
-        if (index == -1) return false;
-
-        rocketList.remove(index);
-
-        // Keep recent queue consistent after delete
-        rebuildRecentQueue();
+        int row = nameIndex.first(nameKey(rocketNameKey));
+        if (row == -1) return false;
+
+        // Only this row's index entries change; the row stays in the store,
+        // marked deleted, until enough deletes have piled up to compact
+        changeCount++;
+        segments.removed(deleted.position(row));
+        unindexRow(row);
+        deleted.delete(row);
+        if (deleted.count() >= Math.max(COMPACT_MIN_ROWS, store.size() / 4)) {
+            compact();
+        }
         return true;
     }
 
     public Rocket findRocketByName(String rocketName) {
-        int idx = findRocketIndexByName(rocketName);
-        return (idx == -1) ? null : rocketList.get(idx);
+        int row = nameIndex.first(nameKey(rocketName));
+        return (row == -1) ? null : store.get(row);
     }
 
-    private int findRocketIndexByName(String rocketName) {
-        for (int i = 0; i < rocketList.size(); i++) {
-            if (rocketList.get(i).getRocketName().equalsIgnoreCase(rocketName)) {
-                return i;
-            }
+    public Rocket findRocketByID(String rocketID) {
+        if (rocketID == null) return null;
+        int row = idIndex.first(rocketID);
+        return (row == -1) ? null : store.get(row);
+    }
+
+    // ========================= NAME / ID INDEX =========================
+    // Keys are folded once here so lookups don't need equalsIgnoreCase scans.
+
+    private static String nameKey(String rocketName) {
+        return (rocketName == null) ? "" : rocketName.toLowerCase(Locale.ROOT);
+    }
+
+    private static String idKey(String rocketID) {
+        return (rocketID == null) ? "" : rocketID;
+    }
+
+    // ========================= INDEX MAINTENANCE =========================
+    // Every index (name/ID hash, sorted, trigram, year buckets) and the stats
+    // counters, patched on every add/update/delete. They read keys from the
+    // store, so a row is unindexed before the store changes it.
+
+    private void indexRow(int row) {
+        nameIndex.add(row);
+        idIndex.add(row);
+        byName.add(row);
+        byLaunchYear.add(row);
+        byMass.add(row);
+        byThrust.add(row);
+        nameGrams.add(row);
+        countryGrams.add(row);
+        yearBuckets.add(store.getLaunchYear(row), row);
+        if (store.getStatus(row) != null) statusRows[store.getStatus(row).ordinal()].add(row);
+        updateCounters(row, 1);
+    }
+
+    private void unindexRow(int row) {
+        nameIndex.remove(row);
+        idIndex.remove(row);
+        byName.remove(row);
+        byLaunchYear.remove(row);
+        byMass.remove(row);
+        byThrust.remove(row);
+        nameGrams.remove(row);
+        countryGrams.remove(row);
+        yearBuckets.remove(store.getLaunchYear(row), row);
+        if (store.getStatus(row) != null) statusRows[store.getStatus(row).ordinal()].remove(row);
+        updateCounters(row, -1);
+    }
+
+    // Drops the deleted rows from the store and renumbers every index in one
+    // pass each (relative order is kept, so nothing is re-sorted or rehashed)
+    private void compact() {
+        int[] gone = deleted.toArray();
+        int[] newRow = new int[store.size()];
+        int next = 0;
+        for (int row = 0; row < newRow.length; row++) {
+            newRow[row] = deleted.isDeleted(row) ? -1 : next++;
+        }
+
+        store.removeRows(gone);
+        deleted.reset(store.size());
+
+        nameIndex.renumber(newRow);
+        idIndex.renumber(newRow);
+        byName.renumber(newRow);
+        byLaunchYear.renumber(newRow);
+        byMass.renumber(newRow);
+        byThrust.renumber(newRow);
+        nameGrams.renumber(newRow);
+        countryGrams.renumber(newRow);
+        yearBuckets.renumber(newRow);
+        for (RowList list : statusRows) {
+            list.renumber(newRow);
+        }
+    }
+
+    // Appends the rockets as new rows and indexes them
+    private void appendAll(List<Rocket> rockets) {
+        changeCount++;
+        int first = store.size();
+        for (Rocket r : rockets) {
+            store.add(r);
+            deleted.appended();
+        }
+        indexRows(first, store.size());
+    }
+
+    // Indexes rows [first, end) already in the store, one task per index
+    private void indexRows(int first, int end) {
+        nameIndex.ensureCapacity(end);
+        idIndex.ensureCapacity(end);
+
+        CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) nameIndex.add(row);
+                }),
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) idIndex.add(row);
+                }),
+                CompletableFuture.runAsync(() -> byName.addRange(first, end)),
+                CompletableFuture.runAsync(() -> byLaunchYear.addRange(first, end)),
+                CompletableFuture.runAsync(() -> byMass.addRange(first, end)),
+                CompletableFuture.runAsync(() -> byThrust.addRange(first, end)),
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) nameGrams.add(row);
+                }),
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) countryGrams.add(row);
+                }),
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) yearBuckets.add(store.getLaunchYear(row), row);
+                }),
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) {
+                        if (store.getStatus(row) != null) statusRows[store.getStatus(row).ordinal()].add(row);
+                    }
+                }),
+                CompletableFuture.runAsync(() -> {
+                    for (int row = first; row < end; row++) updateCounters(row, 1);
+                })
+        ).join();
+    }
+
+    private void clearIndexes() {
+        nameIndex.clear();
+        idIndex.clear();
+        byName.clear();
+        byLaunchYear.clear();
+        byMass.clear();
+        byThrust.clear();
+        nameGrams.clear();
+        countryGrams.clear();
+        yearBuckets.clear();
+        for (RowList list : statusRows) {
+            list.clear();
+        }
+        Arrays.fill(countryCounts, 0);
+        decadeCounts.clear();
+    }
+
+    // List positions [from, to) as Rockets, in list order
+    private ArrayList<Rocket> rows(int from, int to) {
+        ArrayList<Rocket> out = new ArrayList<>(Math.max(0, to - from));
+        if (from >= to) return out;
+        for (int row = deleted.row(from); out.size() < to - from; row++) {
+            if (!deleted.isDeleted(row)) out.add(store.get(row));
+        }
+        return out;
+    }
+
+    private ArrayList<Rocket> rows(int[] rows) {
+        ArrayList<Rocket> out = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            out.add(store.get(row));
         }
-        return -1;
+        return out;
+    }
+
+    private ArrayList<Rocket> rows(RowList rows) {
+        ArrayList<Rocket> out = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            out.add(store.get(rows.get(i)));
+        }
+        return out;
     }
 
     // ========================= STATS (HOME TAB) =========================
 
     public int getTotalCount() {
-        return rocketList.size();
+        return deleted.liveRows();
     }
 
     public int getRecentCount() {
-        return recentQueue.size();
+        return Math.min(5, deleted.liveRows());
     }
 
     public int getActiveCount() {
-        return countByStatus("Active");
+        return countByStatus(RocketStatus.ACTIVE);
     }
 
     public int getInactiveCount() {
-        return countByStatus("Inactive");
+        return countByStatus(RocketStatus.INACTIVE);
     }
 
     public int getTestingCount() {
-        return countByStatus("Testing");
+        return countByStatus(RocketStatus.TESTING);
     }
 
-    private int countByStatus(String status) {
-        int count = 0;
-        for (Rocket r : rocketList) {
-            if (r.getStatus() != null && r.getStatus().equalsIgnoreCase(status)) {
-                count++;
+    // The status index is kept up to date on every mutation, so this is an array read
+    public int countByStatus(RocketStatus status) {
+        return statusRows[status.ordinal()].size();
+    }
+
+    public InventoryStats getStats() {
+        HashMap<String, Integer> byCountry = new HashMap<>();
+        for (int code = 0; code < countryCounts.length; code++) {
+            if (countryCounts[code] > 0) {
+                byCountry.put(CountryDictionary.nameOf(code), countryCounts[code]);
             }
         }
-        return count;
+
+        return new InventoryStats(
+                getTotalCount(),
+                getRecentCount(),
+                getActiveCount(),
+                getInactiveCount(),
+                getTestingCount(),
+                byCountry,
+                decadeCounts
+        );
     }
 
+    // Reads the row's columns (no Rocket is built)
+    private void updateCounters(int row, int delta) {
+        int code = store.getCountryCode(row);
+        if (code >= countryCounts.length) {
+            countryCounts = Arrays.copyOf(countryCounts, Math.max(code + 1, countryCounts.length * 2));
+        }
+        countryCounts[code] += delta;
+
+        // merge() drops the entry once it reaches zero
+        int decade = Math.floorDiv(store.getLaunchYear(row), 10) * 10;
+        decadeCounts.merge(decade, delta, (a, b) -> (a + b == 0) ? null : a + b);
+    }
+
+
     // ========================= LOAD/RESET ALL (FILE I/O SUPPORT) =========================
 
+    // Everything counts as changed: the next save writes every segment
     public void setAllRockets(ArrayList<Rocket> rockets) {
-        rocketList.clear();
-        rocketList.addAll(rockets);
-        rebuildRecentQueue();
+        replaceAll(rockets);
+        segments.reset(rockets.size());
     }
 
-    private void rebuildRecentQueue() {
-        recentQueue.clear();
-        int start = Math.max(0, rocketList.size() - 5);
-        for (int i = start; i < rocketList.size(); i++) {
-            recentQueue.add(rocketList.get(i));
+    // Rockets loaded from a segmented store: its layout is kept, nothing is dirty
+    public void setAllRockets(SegmentedSnapshot loaded) {
+        replaceAll(loaded.getRockets());
+        if (loaded.hasLayout()) {
+            segments.adopt(loaded.segmentIds, loaded.segmentSizes);
+        } else {
+            segments.reset(store.size());
         }
     }
 
-    // ========================= STEP 6: SORT (Insertion Sort by Year) =========================
-
-    public ArrayList<Rocket> sortByLaunchYear(boolean ascending) {
-        ArrayList<Rocket> sorted = new ArrayList<>(rocketList);
-
-        for (int i = 1; i < sorted.size(); i++) {
-            Rocket key = sorted.get(i);
-            int j = i - 1;
+    private void replaceAll(List<Rocket> rockets) {
+        changeCount++;
+        store.clear();
+        deleted.reset(0);
+        clearIndexes();
+        appendAll(rockets);
+    }
 
-            if (ascending) {
-                while (j >= 0 && sorted.get(j).getLaunchYear() > key.getLaunchYear()) {
-                    sorted.set(j + 1, sorted.get(j));
-                    j--;
-                }
-            } else {
-                while (j >= 0 && sorted.get(j).getLaunchYear() < key.getLaunchYear()) {
-                    sorted.set(j + 1, sorted.get(j));
-                    j--;
+    // ========================= OFF-HEAP STORAGE =========================
+
+    // An inventory whose rows live in the memory-mapped file at `file`
+    // (OffHeapRocketStore), holding the rows of the saved snapshot. If the file
+    // is still an exact copy of that snapshot (see closeOffHeap), its rows are
+    // used as they are; otherwise it is refilled from the snapshot a page at a
+    // time. Either way only the indexes are built on the heap.
+    public static RocketInventory openOffHeap(Path file, PagedRocketStore snapshot) throws IOException {
+        OffHeapRocketStore rows = OffHeapRocketStore.open(file);
+        try {
+            boolean current = rows.isCopyOf(snapshot.getGeneration(), snapshot.getJournalCutoff())
+                    && rows.size() == snapshot.size();
+            // From the first change until closeOffHeap: after a crash the file is refilled
+            rows.markModified();
+            if (!current) {
+                rows.clear();
+                for (Rocket r : snapshot.asList()) {
+                    rows.add(r);
                 }
             }
 
-            sorted.set(j + 1, key);
+            RocketInventory inventory = new RocketInventory(rows);
+            inventory.indexRows(0, rows.size());
+            inventory.segments.adopt(snapshot.segmentIds, snapshot.pageSizes);
+            return inventory;
+        } catch (UncheckedIOException ex) {
+            rows.close();
+            throw ex.getCause();
+        } catch (RuntimeException ex) {
+            rows.close();
+            throw ex;
         }
+    }
 
-        return sorted;
+    public boolean isOffHeap() {
+        return store instanceof OffHeapRocketStore;
     }
 
-    // ========================= STEP 6: BINARY SEARCH =========================
-    // Binary search requires sorted data first.
+    // Off-heap inventories, at shutdown: flushes and closes the file. Pass the
+    // snapshot as saved last if it holds every change (the file is then marked
+    // as its copy, for the next openOffHeap), or null if it doesn't. The
+    // inventory can't be used afterwards.
+    public void closeOffHeap(PagedRocketStore savedAs) throws IOException {
+        if (!(store instanceof OffHeapRocketStore rows)) {
+            throw new IllegalStateException("Not an off-heap inventory");
+        }
+        try {
+            // The file must hold exactly the inventory's rows to count as a copy
+            if (deleted.count() > 0) {
+                compact();
+            }
+            if (savedAs != null && savedAs.size() == rows.size()) {
+                rows.markCopyOf(savedAs.getGeneration(), savedAs.getJournalCutoff());
+            } else {
+                rows.force();
+            }
+        } finally {
+            rows.close();
+        }
+    }
 
-    // Helper: sort by Rocket Name (Insertion sort, case-insensitive)
-    private ArrayList<Rocket> sortByRocketNameAscending() {
-        ArrayList<Rocket> sorted = new ArrayList<>(rocketList);
+    // ========================= DIRTY TRACKING (DELTA SAVES) =========================
 
-        for (int i = 1; i < sorted.size(); i++) {
-            Rocket key = sorted.get(i);
-            int j = i - 1;
+    public boolean hasUnsavedChanges() {
+        return segments.hasChanges();
+    }
 
-            while (j >= 0 && sorted.get(j).getRocketName()
-                    .compareToIgnoreCase(key.getRocketName()) > 0) {
-                sorted.set(j + 1, sorted.get(j));
-                j--;
+    // Rows of every segment changed since the last call; the caller must persist
+    // it (RocketFileManager.saveSegments), tracking starts over from here
+    public InventoryDelta takeChanges() {
+        return segments.take(new AbstractList<Rocket>() {
+            @Override
+            public Rocket get(int position) {
+                return store.get(deleted.row(position));
             }
 
-            sorted.set(j + 1, key);
-        }
+            @Override
+            public int size() {
+                return deleted.liveRows();
+            }
+        });
+    }
+
+    // ========================= STEP 6: SORT (Read from sorted index) =========================
+    // Equal years keep list order in both directions (same result as the old insertion sort).
 
-        return sorted;
+    public ArrayList<Rocket> sortByLaunchYear(boolean ascending) {
+        return rows(byLaunchYear.toArray(ascending));
     }
 
+    public ArrayList<Rocket> sortByRocketName(boolean ascending) {
+        return rows(byName.toArray(ascending));
+    }
+
+    public ArrayList<Rocket> sortByMass(boolean ascending) {
+        return rows(byMass.toArray(ascending));
+    }
+
+    public ArrayList<Rocket> sortByThrust(boolean ascending) {
+        return rows(byThrust.toArray(ascending));
+    }
+
+    // ========================= STEP 6: BINARY SEARCH =========================
+    // The sorted indexes are sorted row arrays, so each lookup is O(log n) with no copying.
+
     public Rocket binarySearchByName(String targetName) {
         if (targetName == null) return null;
         String target = targetName.trim();
         if (target.isEmpty()) return null;
 
-        ArrayList<Rocket> sorted = sortByRocketNameAscending();
+        int row = byName.findFirst(r -> store.getRocketName(r).compareToIgnoreCase(target));
+        return (row == -1) ? null : store.get(row);
+    }
+
+    public Rocket binarySearchByLaunchYear(int targetYear) {
+        int row = byLaunchYear.findFirst(r -> Integer.compare(store.getLaunchYear(r), targetYear));
+        return (row == -1) ? null : store.get(row);
+    }
+
+    // ========================= YEAR SEARCH (Year buckets, list order) =========================
 
-        int low = 0;
-        int high = sorted.size() - 1;
+    // Every rocket launched in that year (binarySearchByLaunchYear only returns one)
+    public ArrayList<Rocket> searchByLaunchYear(int year) {
+        return rows(yearBuckets.exact(year));
+    }
 
-        while (low <= high) {
-            int mid = (low + high) / 2;
-            String midName = sorted.get(mid).getRocketName();
+    // "19" -> every year from 1900 to 1999; "2" -> 2000 onwards
+    public ArrayList<Rocket> searchByLaunchYearPrefix(String yearPrefix) {
+        if (yearPrefix == null) return new ArrayList<>();
+        String key = yearPrefix.trim();
+        if (key.isEmpty()) return new ArrayList<>();
 
-            int cmp = midName.compareToIgnoreCase(target);
+        return rows(yearBuckets.matching(y -> String.valueOf(y).startsWith(key)));
+    }
 
-            if (cmp == 0) {
-                return sorted.get(mid);
-            } else if (cmp < 0) {
-                low = mid + 1;
-            } else {
-                high = mid - 1;
-            }
-        }
+    public ArrayList<Rocket> searchByLaunchYearRange(int fromYear, int toYear) {
+        if (fromYear > toYear) return new ArrayList<>();
+        return rows(yearBuckets.range(fromYear, toYear));
+    }
+
+    // ========================= RANGE SEARCH (Sorted indexes) =========================
 
-        return null;
+    public ArrayList<Rocket> searchByMassRange(double minMass, double maxMass) {
+        if (minMass > maxMass) return new ArrayList<>();
+        return rows(massRange(minMass, maxMass));
     }
 
-    public Rocket binarySearchByLaunchYear(int targetYear) {
-        ArrayList<Rocket> sorted = sortByLaunchYear(true);
+    public ArrayList<Rocket> searchByThrustRange(double minThrust, double maxThrust) {
+        if (minThrust > maxThrust) return new ArrayList<>();
+        return rows(thrustRange(minThrust, maxThrust));
+    }
 
-        int low = 0;
-        int high = sorted.size() - 1;
+    private int[] massRange(double min, double max) {
+        return byMass.range(massProbe(min), massProbe(max));
+    }
 
-        while (low <= high) {
-            int mid = (low + high) / 2;
-            int midYear = sorted.get(mid).getLaunchYear();
+    private int[] thrustRange(double min, double max) {
+        return byThrust.range(thrustProbe(min), thrustProbe(max));
+    }
 
-            if (midYear == targetYear) {
-                return sorted.get(mid);
-            } else if (midYear < targetYear) {
-                low = mid + 1;
-            } else {
-                high = mid - 1;
-            }
-        }
+    // probe(row) compares the row's key with the searched value, for the sorted indexes
+    private IntUnaryOperator massProbe(double mass) {
+        return r -> Double.compare(store.getMass(r), mass);
+    }
 
-        return null;
+    private IntUnaryOperator thrustProbe(double thrust) {
+        return r -> Double.compare(store.getThrust(r), thrust);
     }
 
-    // ========================= STEP 6: PARTIAL SEARCH (Linear Search) =========================
+    // ========================= MULTI-CRITERIA QUERY =========================
+    // Small cost-based planner: every index the query can use (exact name, name
+    // or country trigrams, year buckets, mass/thrust ranges, status rows) reports
+    // how many candidates it would hand back, all without building a list. The
+    // query is driven from the smallest one, and every condition is checked in
+    // one pass over those candidates, reading the store's columns. If no index
+    // beats reading every row, it is a single scan. Results always come back in
+    // list order.
 
-    public ArrayList<Rocket> partialSearchByName(String keyword) {
+    private enum Plan { SCAN, NAME_GRAMS, COUNTRY_GRAMS, YEARS, MASS, THRUST, STATUS }
+
+    public ArrayList<Rocket> query(RocketQuery q) {
         ArrayList<Rocket> results = new ArrayList<>();
-        if (keyword == null) return results;
+        forEachMatch(q, results::add);
+        return results;
+    }
 
-        String key = keyword.trim().toLowerCase();
-        if (key.isEmpty()) return results;
+    // Same results in the same order as query(...), handed to the sink one at a
+    // time instead of collected into a list (exports stream these straight to disk).
+    // Only matching rows are turned into Rockets.
+    public void forEachMatch(RocketQuery q, Consumer<? super Rocket> sink) {
+        if (q == null || q.isEmptyRange()) return;
+
+        int[] candidates = candidates(q);
+        if (candidates == null) {
+            int size = store.size();
+            for (int row = 0; row < size; row++) {
+                if (!deleted.isDeleted(row) && q.matches(store, row)) {
+                    sink.accept(store.get(row));
+                }
+            }
+            return;
+        }
 
-        for (Rocket r : rocketList) {
-            if (r.getRocketName() != null && r.getRocketName().toLowerCase().contains(key)) {
-                results.add(r);
+        for (int row : candidates) {
+            if (q.matches(store, row)) {
+                sink.accept(store.get(row));
             }
         }
+    }
 
-        return results;
+    // Rows (ascending) from the index with the fewest candidates, or null for a full scan
+    private int[] candidates(RocketQuery q) {
+        // An exact name is at most one row: nothing beats it
+        if (q.nameEquals != null) {
+            int row = nameIndex.first(q.nameEquals);
+            return (row == -1) ? new int[0] : new int[] {row};
+        }
+
+        // A country nobody has means nothing can match (there is no row index for it)
+        if (q.countryCode >= 0 && (q.countryCode >= countryCounts.length || countryCounts[q.countryCode] == 0)) {
+            return new int[0];
+        }
+
+        // Candidates each plan would produce (unusable plans stay at MAX_VALUE)
+        int[] cost = new int[Plan.values().length];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        cost[Plan.SCAN.ordinal()] = deleted.liveRows();
+        if (q.nameContains != null && q.nameContains.length() >= 3) {
+            cost[Plan.NAME_GRAMS.ordinal()] = nameGrams.estimate(q.nameContains);
+        }
+        if (q.countryContains != null && q.countryContains.length() >= 3) {
+            cost[Plan.COUNTRY_GRAMS.ordinal()] = countryGrams.estimate(q.countryContains);
+        }
+        if (q.hasYearCondition()) {
+            cost[Plan.YEARS.ordinal()] = yearBuckets.countMatching(q::yearMatches);
+        }
+        if (q.minMass != null) {
+            cost[Plan.MASS.ordinal()] = byMass.countRange(massProbe(q.minMass), massProbe(q.maxMass));
+        }
+        if (q.minThrust != null) {
+            cost[Plan.THRUST.ordinal()] = byThrust.countRange(thrustProbe(q.minThrust), thrustProbe(q.maxThrust));
+        }
+        if (q.status != null) {
+            cost[Plan.STATUS.ordinal()] = statusRows[q.status.ordinal()].size();
+        }
+
+        // Cheapest wins; ties go to the earlier plan (a scan beats an index that returns every row)
+        Plan plan = Plan.SCAN;
+        for (Plan p : Plan.values()) {
+            if (cost[p.ordinal()] < cost[plan.ordinal()]) plan = p;
+        }
+        if (cost[plan.ordinal()] == 0) return new int[0];
+
+        return switch (plan) {
+            case NAME_GRAMS -> nameGrams.search(q.nameContains).toArray();
+            case COUNTRY_GRAMS -> countryGrams.search(q.countryContains).toArray();
+            case YEARS -> yearBuckets.matching(q::yearMatches);
+            case MASS -> inRowOrder(massRange(q.minMass, q.maxMass));
+            case THRUST -> inRowOrder(thrustRange(q.minThrust, q.maxThrust));
+            case STATUS -> statusRows[q.status.ordinal()].toArray();
+            case SCAN -> null;
+        };
+    }
+
+    // Sorted-index results come out in key order; the query hands rows back in list order
+    private static int[] inRowOrder(int[] rows) {
+        Arrays.sort(rows);
+        return rows;
     }
 
+    // Every rocket in list order, without the copy getAllRockets() makes
+    public void forEachRocket(Consumer<? super Rocket> sink) {
+        int size = store.size();
+        for (int row = 0; row < size; row++) {
+            if (!deleted.isDeleted(row)) sink.accept(store.get(row));
+        }
+    }
+
+    // ========================= STEP 6: PARTIAL SEARCH =========================
+    // Name and country use the trigram indexes; launch year uses the year buckets.
+
+    public ArrayList<Rocket> partialSearchByName(String keyword) {
+        if (keyword == null) return new ArrayList<>();
+        return rows(nameGrams.search(keyword.trim()));
+    }
+
+    // Same "year contains digits" match as before, but tested once per year bucket
+    // instead of formatting every rocket's year on every search.
     public ArrayList<Rocket> partialSearchByLaunchYear(String yearPart) {
-        ArrayList<Rocket> results = new ArrayList<>();
-        if (yearPart == null) return results;
+        if (yearPart == null) return new ArrayList<>();
 
         String key = yearPart.trim();
-        if (key.isEmpty()) return results;
+        if (key.isEmpty()) return new ArrayList<>();
 
-        for (Rocket r : rocketList) {
-            String y = String.valueOf(r.getLaunchYear());
-            if (y.contains(key)) {
-                results.add(r);
-            }
-        }
-
-        return results;
+        return rows(yearBuckets.matching(y -> String.valueOf(y).contains(key)));
     }
 
-    // ========================= NEW: PARTIAL SEARCH BY COUNTRY (Linear Search) =========================
+    // ========================= NEW: PARTIAL SEARCH BY COUNTRY (Trigram index) =========================
     // This is your "author-equivalent" multiple criteria requirement.
 
     public ArrayList<Rocket> partialSearchByCountry(String keyword) {
-        ArrayList<Rocket> results = new ArrayList<>();
-        if (keyword == null) return results;
+        if (keyword == null) return new ArrayList<>();
+        return rows(countryGrams.search(keyword.trim()));
+    }
+
+    // ========================= ROW VIEW =========================
 
-        String key = keyword.trim().toLowerCase();
-        if (key.isEmpty()) return results;
+    // Read-only list over the store as it was when the view was made (see viewAllRockets)
+    private final class RowView extends AbstractList<Rocket> implements RandomAccess {
 
-        for (Rocket r : rocketList) {
-            if (r.getCountry() != null && r.getCountry().toLowerCase().contains(key)) {
-                results.add(r);
+        private final int expectedChangeCount = changeCount;
+        private final int size = deleted.liveRows();
+
+        @Override
+        public Rocket get(int position) {
+            if (position < 0 || position >= size) {
+                throw new IndexOutOfBoundsException("Row " + position + " of " + size);
+            }
+            checkCurrent();
+            Rocket r;
+            try {
+                r = store.get(deleted.row(position));
+            } catch (RuntimeException ex) {
+                checkCurrent();
+                throw ex;
             }
+            // A change that started while the row was read may have torn it
+            checkCurrent();
+            return r;
         }
 
-        return results;
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private void checkCurrent() {
+            if (changeCount != expectedChangeCount) {
+                throw new ConcurrentModificationException("The inventory changed; take a new view");
+            }
+        }
     }
 }
@@ -0,0 +1,406 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Append-only write-ahead journal of inventory changes, kept next to the
+// snapshot file (binary or CSV). Each add/update/delete appends one small record
+// instead of rewriting the whole snapshot; on startup the journal is replayed on
+// top of the last snapshot.
+//
+// File layout: header [int magic "RKJL"][long number of the first record], then records.
+// Records are numbered from the journal's start and keep their numbers when a
+// compaction cuts the front of the file off.
+//
+// Record layout: [int payload length][int CRC32 of payload][payload]
+//   payload: op byte, key (UTF), then for ADD/UPDATE the rocket fields:
+//            id, name, country (UTF), mass, thrust (double), status ordinal (byte), year (int)
+//
+// Writes reach the OS immediately; fsync is batched (every SYNC_BATCH records or
+// SYNC_INTERVAL_MS, whichever comes first). Once COMPACT_AFTER records pile up the
+// caller can compact: the snapshot is rewritten on a background thread, recording
+// how many records it covers, and those records are then dropped.
+public class RocketJournal implements Closeable {
+
+    public enum Op {
+        ADD, UPDATE, DELETE
+    }
+
+    public static final int SYNC_BATCH = 64;
+    public static final long SYNC_INTERVAL_MS = 200;
+    public static final int COMPACT_AFTER = 1000;
+
+    private static final int MAGIC = 0x524B4A4C;   // "RKJL"
+    private static final int HEADER_BYTES = 12;
+
+    private static final RocketStatus[] STATUSES = RocketStatus.values();
+    private static final Op[] OPS = Op.values();
+
+    private final Path journalPath;
+    private final String snapshotPath;
+    private final ScheduledExecutorService syncTimer;
+    private final ExecutorService compactor;
+
+    private FileChannel channel;
+    private int recordCount;        // records currently in the journal file
+    private int unsynced;           // records written since the last fsync
+    private int compactionsPending;
+    private long droppedBytes;      // logical offset of the file's first byte (grows as compactions cut the front off)
+    private long droppedRecords;    // number of the file's first record
+    private IOException lastCompactionError;
+
+    private RocketJournal(Path journalPath, String snapshotPath) throws IOException {
+        this.journalPath = journalPath;
+        this.snapshotPath = snapshotPath;
+        this.channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        readHeader();
+
+        syncTimer = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "rocket-journal-sync"));
+        compactor = Executors.newSingleThreadExecutor(r -> daemon(r, "rocket-journal-compact"));
+        syncTimer.scheduleWithFixedDelay(this::syncQuietly, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Opens (or creates) the journal that belongs to the snapshot at snapshotPath
+    public static RocketJournal open(String snapshotPath) throws IOException {
+        Path journal = Path.of(snapshotPath + ".journal");
+        Path parent = journal.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new RocketJournal(journal, snapshotPath);
+    }
+
+    // ========================= REPLAY =========================
+
+    public int replayInto(RocketInventory inventory) throws IOException {
+        return replayInto(inventory, 0);
+    }
+
+    // Applies every intact record numbered skipBefore or later to the inventory
+    // (loaded from the snapshot first; skipBefore is its SegmentedSnapshot.getJournalCutoff(),
+    // the records it already includes). A torn or corrupt tail (crash mid-append)
+    // is cut off. Returns records applied.
+    public synchronized int replayInto(RocketInventory inventory, long skipBefore) throws IOException {
+        long validEnd = HEADER_BYTES;
+        int records = 0;
+        int applied = 0;
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(8);
+
+        while (validEnd + 8 <= size) {
+            header.clear();
+            channel.read(header, validEnd);
+            header.flip();
+            int len = header.getInt();
+            int crc = header.getInt();
+            if (len <= 0 || validEnd + 8 + len > size) break;
+
+            ByteBuffer payload = ByteBuffer.allocate(len);
+            channel.read(payload, validEnd + 8);
+            if (checksum(payload.array()) != crc) break;
+
+            if (droppedRecords + records >= skipBefore) {
+                apply(payload.array(), inventory);
+                applied++;
+            }
+            records++;
+            validEnd += 8 + len;
+        }
+
+        if (validEnd < size) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+        channel.position(validEnd);
+        recordCount = records;
+
+        // Empty (e.g. deleted by hand): number new records after the ones the snapshot covers
+        if (records == 0 && droppedRecords < skipBefore) {
+            writeHeader(Math.max(droppedRecords, skipBefore));
+        }
+        return applied;
+    }
+
+    private static void apply(byte[] payload, RocketInventory inventory) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            Op op = OPS[in.readByte()];
+            String key = in.readUTF();
+            switch (op) {
+                case ADD -> inventory.addRocket(readRocket(in));
+                case UPDATE -> inventory.updateRocket(key, readRocket(in));
+                case DELETE -> inventory.deleteRocket(key);
+            }
+        }
+    }
+
+    // ========================= APPEND =========================
+
+    // One journaled change; rocket is null for DELETE, key is the name the change was made under
+    public static class Entry {
+        final Op op;
+        final String key;
+        final Rocket rocket;
+
+        public Entry(Op op, String key, Rocket rocket) {
+            this.op = op;
+            this.key = key;
+            this.rocket = rocket;
+        }
+    }
+
+    public void append(Op op, String key, Rocket rocket) throws IOException {
+        appendAll(List.of(new Entry(op, key, rocket)));
+    }
+
+    // Writes a batch of records with a single write call
+    public synchronized void appendAll(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) return;
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream(96 * entries.size());
+        DataOutputStream out = new DataOutputStream(records);
+        for (Entry e : entries) {
+            byte[] payload = encode(e);
+            out.writeInt(payload.length);
+            out.writeInt(checksum(payload));
+            out.write(payload);
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(records.toByteArray());
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+
+        recordCount += entries.size();
+        unsynced += entries.size();
+        if (unsynced >= SYNC_BATCH) {
+            sync();
+        }
+    }
+
+    private static byte[] encode(Entry e) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(e.op.ordinal());
+            out.writeUTF(e.key == null ? "" : e.key);
+            if (e.op != Op.DELETE) {
+                writeRocket(out, e.rocket);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public synchronized void sync() throws IOException {
+        if (unsynced > 0 && channel.isOpen()) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException ex) {
+            // Next append or close() will try again
+        }
+    }
+
+    // ========================= COMPACTION =========================
+
+    public synchronized boolean needsCompaction() {
+        return recordCount >= COMPACT_AFTER && compactionsPending == 0;
+    }
+
+    // delta must cover exactly the records appended so far: no more, or replay
+    // would apply those again on top of the snapshot. When records go through a
+    // WriteBehindPersister, hand the delta to its submitDelta instead, which calls
+    // this once the records queued before it are appended. The changed
+    // segments are written in the background together with the number of records
+    // they cover (in the manifest, same atomic swap), and only then are those
+    // records dropped. A crash in between leaves them in the journal, but replay
+    // skips them by that number. Compactions run one at a time in call order, so a
+    // later delta is never overwritten by an earlier one.
+    public synchronized void compactAsync(InventoryDelta delta) {
+        // Cutoffs are logical (counting what earlier compactions cut off), so one
+        // taken now stays right after a queued compaction shortens the file
+        long cutoffBytes;
+        long cutoffRecords = droppedRecords + recordCount;
+        try {
+            cutoffBytes = droppedBytes + channel.position();
+        } catch (IOException ex) {
+            // Still save the delta (the inventory has forgotten it); just keep the journal
+            cutoffBytes = -1;
+            lastCompactionError = ex;
+        }
+        long cutBytes = cutoffBytes;
+
+        compactionsPending++;
+        compactor.submit(() -> {
+            try {
+                RocketFileManager.saveSegments(snapshotPath, delta.coveringJournal(cutoffRecords));
+                if (cutBytes >= 0) {
+                    dropPrefix(cutBytes, cutoffRecords);
+                }
+                lastCompactionError = null;
+            } catch (IOException ex) {
+                // Journal is untouched and the delta is kept for the next save, so nothing is lost
+                lastCompactionError = ex;
+            } finally {
+                synchronized (this) {
+                    compactionsPending--;
+                }
+            }
+        });
+    }
+
+    // True while a compaction's save hasn't finished (also after close() gave up waiting)
+    public synchronized boolean isCompacting() {
+        return compactionsPending > 0;
+    }
+
+    public synchronized IOException getLastCompactionError() {
+        return lastCompactionError;
+    }
+
+    // Replaces the journal with just the records appended after the (logical) cutoff
+    private synchronized void dropPrefix(long cutoffBytes, long cutoffRecords) throws IOException {
+        long cutoff = cutoffBytes - droppedBytes;
+        if (cutoff <= HEADER_BYTES) return;
+
+        sync();
+        Path tmp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        long tail = channel.size() - cutoff;
+
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = header(cutoffRecords);
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            long done = 0;
+            while (done < tail) {
+                done += channel.transferTo(cutoff + done, tail - done, out);
+            }
+            out.force(true);
+        }
+
+        channel.close();
+        Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(journalPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        recordCount -= (int) (cutoffRecords - droppedRecords);
+        droppedBytes = cutoffBytes - HEADER_BYTES;  // the old cutoff byte now sits right after the header
+        droppedRecords = cutoffRecords;
+    }
+
+    // ========================= HEADER =========================
+
+    // A new file, or one whose header write was cut short (it can't hold records
+    // yet), gets a header numbered from 0; replay renumbers it past the snapshot
+    private void readHeader() throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            writeHeader(0);
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a rocket journal (bad header): " + journalPath);
+        }
+        droppedRecords = header.getLong();
+        channel.position(HEADER_BYTES);
+    }
+
+    // Only for a journal with no records: starts it over with just a header
+    private void writeHeader(long firstRecord) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = header(firstRecord);
+        long at = 0;
+        while (header.hasRemaining()) {
+            at += channel.write(header, at);
+        }
+        channel.force(true);
+        channel.position(HEADER_BYTES);
+        droppedRecords = firstRecord;
+    }
+
+    private static ByteBuffer header(long firstRecord) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putLong(firstRecord);
+        header.flip();
+        return header;
+    }
+
+    // ========================= CLOSE =========================
+
+    // Waits for a running compaction, then fsyncs and closes the journal
+    @Override
+    public void close() throws IOException {
+        syncTimer.shutdownNow();
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (channel.isOpen()) {
+                sync();
+                channel.close();
+            }
+        }
+    }
+
+    // ========================= ENCODING =========================
+
+    private static void writeRocket(DataOutputStream out, Rocket r) throws IOException {
+        out.writeUTF(r.getRocketID());
+        out.writeUTF(r.getRocketName());
+        out.writeUTF(r.getCountry());
+        out.writeDouble(r.getMass());
+        out.writeDouble(r.getThrust());
+        out.writeByte(r.getStatus().ordinal());
+        out.writeInt(r.getLaunchYear());
+    }
+
+    private static Rocket readRocket(DataInputStream in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        String country = in.readUTF();
+        double mass = in.readDouble();
+        double thrust = in.readDouble();
+        RocketStatus status = STATUSES[in.readByte()];
+        int year = in.readInt();
+        return new Rocket(id, name, country, mass, thrust, status, year);
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,168 @@
+package model;
+
+import java.util.Locale;
+
+// Multi-criteria filter for RocketInventory.query(...).
+// Each method adds one condition and all conditions are ANDed, e.g.
+//   new RocketQuery().statusIs("Active").countryContains("us")
+//                    .launchYearBetween(1990, 2010).thrustToMassAbove(10)
+// Unset conditions match everything.
+public class RocketQuery {
+
+    String nameEquals;          // trimmed and folded, exact name
+    String nameContains;        // trimmed and folded substring
+    String countryContains;     // trimmed and folded substring
+    int countryCode = -2;       // CountryDictionary code (-2 = not set, -1 = unknown country)
+    RocketStatus status;
+    boolean unmatchable;        // e.g. an unknown status: nothing can match
+
+    Integer minYear;
+    Integer maxYear;
+    String yearContains;        // digits somewhere in the year (partial year search)
+    Double minMass;
+    Double maxMass;
+    Double minThrust;
+    Double maxThrust;
+    Double minThrustToMass;     // strictly greater than
+
+    public RocketQuery nameIs(String name) {
+        nameEquals = key(name);
+        return this;
+    }
+
+    public RocketQuery nameContains(String keyword) {
+        nameContains = key(keyword);
+        return this;
+    }
+
+    public RocketQuery countryContains(String keyword) {
+        countryContains = key(keyword);
+        return this;
+    }
+
+    // Exact country (case-sensitive, as stored); compares dictionary codes
+    public RocketQuery countryIs(String country) {
+        countryCode = CountryDictionary.codeOf(country);
+        if (countryCode == -1) unmatchable = true;
+        return this;
+    }
+
+    public RocketQuery statusIs(RocketStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public RocketQuery statusIs(String status) {
+        this.status = RocketStatus.fromString(status);
+        if (this.status == null) unmatchable = true;
+        return this;
+    }
+
+    public RocketQuery launchYearBetween(int fromYear, int toYear) {
+        minYear = fromYear;
+        maxYear = toYear;
+        return this;
+    }
+
+    // Same match as RocketInventory.partialSearchByLaunchYear: "19" finds 1957 and 2019
+    public RocketQuery launchYearContains(String digits) {
+        yearContains = (digits == null) ? "" : digits.trim();
+        return this;
+    }
+
+    public RocketQuery massBetween(double min, double max) {
+        minMass = min;
+        maxMass = max;
+        return this;
+    }
+
+    public RocketQuery thrustBetween(double min, double max) {
+        minThrust = min;
+        maxThrust = max;
+        return this;
+    }
+
+    public RocketQuery thrustToMassAbove(double ratio) {
+        minThrustToMass = ratio;
+        return this;
+    }
+
+    // True if the rocket passes every condition (the fused single-pass check)
+    public boolean matches(Rocket r) {
+        if (!yearMatches(r.getLaunchYear())) return false;
+        if (minMass != null && (r.getMass() < minMass || r.getMass() > maxMass)) return false;
+        if (minThrust != null && (r.getThrust() < minThrust || r.getThrust() > maxThrust)) return false;
+
+        if (minThrustToMass != null) {
+            // Zero mass only passes if there is thrust at all
+            if (r.getMass() == 0) {
+                if (r.getThrust() <= 0) return false;
+            } else if (r.getThrust() / r.getMass() <= minThrustToMass) {
+                return false;
+            }
+        }
+
+        if (status != null && r.getStatus() != status) return false;
+        if (countryCode >= 0 && r.getCountryCode() != countryCode) return false;
+        if (nameEquals != null && !fold(r.getRocketName()).equals(nameEquals)) return false;
+        if (nameContains != null && !fold(r.getRocketName()).contains(nameContains)) return false;
+        if (countryContains != null && !fold(r.getCountry()).contains(countryContains)) return false;
+
+        return true;
+    }
+
+    // Same check for one row of a store, reading its columns (no Rocket is built).
+    // The numeric and code tests run first; strings are only read for rows that pass them.
+    boolean matches(RocketStore s, int row) {
+        if (!yearMatches(s.getLaunchYear(row))) return false;
+        if (minMass != null && (s.getMass(row) < minMass || s.getMass(row) > maxMass)) return false;
+        if (minThrust != null && (s.getThrust(row) < minThrust || s.getThrust(row) > maxThrust)) return false;
+
+        if (minThrustToMass != null) {
+            double mass = s.getMass(row);
+            double thrust = s.getThrust(row);
+            if (mass == 0) {
+                if (thrust <= 0) return false;
+            } else if (thrust / mass <= minThrustToMass) {
+                return false;
+            }
+        }
+
+        if (status != null && s.getStatus(row) != status) return false;
+        if (countryCode >= 0 && s.getCountryCode(row) != countryCode) return false;
+        if (nameEquals != null && !fold(s.getRocketName(row)).equals(nameEquals)) return false;
+        if (nameContains != null && !fold(s.getRocketName(row)).contains(nameContains)) return false;
+        if (countryContains != null && !fold(s.getCountry(row)).contains(countryContains)) return false;
+
+        return true;
+    }
+
+    // Both year conditions; the planner also runs this once per year bucket
+    boolean yearMatches(int year) {
+        if (minYear != null && (year < minYear || year > maxYear)) return false;
+        return yearContains == null || String.valueOf(year).contains(yearContains);
+    }
+
+    boolean hasYearCondition() {
+        return minYear != null || yearContains != null;
+    }
+
+    // True if the query can never match (e.g. an inverted range or unknown status)
+    boolean isEmptyRange() {
+        return unmatchable
+                || (minYear != null && minYear > maxYear)
+                || (minMass != null && minMass > maxMass)
+                || (minThrust != null && minThrust > maxThrust);
+    }
+
+    // What the caller typed: trimmed, like the inventory's searches
+    private static String key(String text) {
+        return (text == null) ? "" : fold(text.trim());
+    }
+
+    // Stored names and countries are folded but not trimmed, exactly like the
+    // name index and trigram index keys, so an index lookup and matches() agree
+    private static String fold(String text) {
+        return (text == null) ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,43 @@
+package model;
+
+public enum RocketStatus {
+    ACTIVE("Active"),
+    INACTIVE("Inactive"),
+    TESTING("Testing");
+
+    private final String label;
+
+    RocketStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Case-insensitive match on the label ("active", "Active", ...); null if unknown
+    public static RocketStatus fromString(String text) {
+        if (text == null) return null;
+        String t = text.trim();
+        for (RocketStatus s : values()) {
+            if (s.label.equalsIgnoreCase(t)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    // Same as fromString but rejects unknown values
+    public static RocketStatus parse(String text) {
+        RocketStatus s = fromString(text);
+        if (s == null) {
+            throw new IllegalArgumentException("Status must be Active, Inactive, or Testing.");
+        }
+        return s;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,44 @@
+package model;
+
+// Where RocketInventory keeps its rows, in list order. Rows are numbered
+// 0..size()-1 and renumber on removeRows like a list, so the inventory's
+// indexes hold row numbers only. The field getters read one column of one row without
+// building a Rocket; get() returns the whole row.
+//
+// Implementations: ObjectRocketStore (a list of Rocket objects),
+// ColumnarRocketStore (one primitive array per field) and OffHeapRocketStore
+// (records in a memory-mapped file). Not thread-safe.
+interface RocketStore {
+
+    int size();
+
+    // The row as a Rocket (the stored object, or a copy built from the columns)
+    Rocket get(int row);
+
+    String getRocketID(int row);
+
+    String getRocketName(int row);
+
+    int getCountryCode(int row);
+
+    double getMass(int row);
+
+    double getThrust(int row);
+
+    RocketStatus getStatus(int row);
+
+    int getLaunchYear(int row);
+
+    void add(Rocket r);
+
+    void set(int row, Rocket r);
+
+    // Drops the given rows (ascending) in one pass; the rows after each one move down
+    void removeRows(int[] rows);
+
+    void clear();
+
+    default String getCountry(int row) {
+        return CountryDictionary.nameOf(getCountryCode(row));
+    }
+}
@@ -0,0 +1,127 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+// Exact-match index from a text key to rows, holding row numbers only: an
+// open-addressing (linear probing) table of rows plus each row's key hash.
+// Keys aren't stored; a slot whose hash matches is confirmed by reading the
+// row's key back through `key`. Several rows may share a key (hand-edited
+// files); first() returns the earliest in list order, like the old scan.
+// remove() must run while the row still holds its key.
+class RowHashIndex {
+
+    private static final int EMPTY = -1;
+
+    private final IntFunction<String> key;     // row -> key as indexed (e.g. folded name)
+
+    private int[] slots;    // row, or EMPTY
+    private int[] hashes;   // spread hash of that row's key
+    private int mask;
+    private int count;
+
+    RowHashIndex(IntFunction<String> key) {
+        this.key = key;
+        allocate(16);
+    }
+
+    void add(int row) {
+        if ((count + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int h = hash(key.apply(row));
+        int i = h & mask;
+        while (slots[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = row;
+        hashes[i] = h;
+        count++;
+    }
+
+    void remove(int row) {
+        int i = hash(key.apply(row)) & mask;
+        while (slots[i] != row) {
+            if (slots[i] == EMPTY) return;
+            i = (i + 1) & mask;
+        }
+
+        // Backward-shift delete: pull later entries of the probe run into the gap
+        int gap = i;
+        for (int j = (gap + 1) & mask; slots[j] != EMPTY; j = (j + 1) & mask) {
+            int home = hashes[j] & mask;
+            boolean stays = (gap <= j) ? (gap < home && home <= j) : (gap < home || home <= j);
+            if (!stays) {
+                slots[gap] = slots[j];
+                hashes[gap] = hashes[j];
+                gap = j;
+            }
+        }
+        slots[gap] = EMPTY;
+        count--;
+    }
+
+    // Earliest row whose key equals k, or -1
+    int first(String k) {
+        int h = hash(k);
+        int best = -1;
+        for (int i = h & mask; slots[i] != EMPTY; i = (i + 1) & mask) {
+            int row = slots[i];
+            if (hashes[i] == h && (best == -1 || row < best) && k.equals(key.apply(row))) {
+                best = row;
+            }
+        }
+        return best;
+    }
+
+    boolean contains(String k) {
+        return first(k) != -1;
+    }
+
+    // The store dropped rows (already taken out of this index): newRow[old] is
+    // each remaining row's new number. Keys don't change, so no slot moves.
+    void renumber(int[] newRow) {
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != EMPTY) slots[i] = newRow[slots[i]];
+        }
+    }
+
+    void clear() {
+        Arrays.fill(slots, EMPTY);
+        count = 0;
+    }
+
+    // Room for `rows` entries without rehashing (bulk loads)
+    void ensureCapacity(int rows) {
+        int cap = slots.length;
+        while (rows * 2 > cap) cap *= 2;
+        if (cap > slots.length) rehash(cap);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] == EMPTY) continue;
+            int j = oldHashes[i] & mask;
+            while (slots[j] != EMPTY) {
+                j = (j + 1) & mask;
+            }
+            slots[j] = oldSlots[i];
+            hashes[j] = oldHashes[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        mask = capacity - 1;
+    }
+
+    private static int hash(String k) {
+        int h = k.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
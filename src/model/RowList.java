@@ -0,0 +1,68 @@
+package model;
+
+import java.util.Arrays;
+
+// Ascending set of row numbers in a growable int array (no boxing). The
+// inventory's bucket and posting lists are RowLists; ascending row order is
+// list order, so their contents never need re-sorting. Appending a new last
+// row is O(1); anything else shifts the array.
+class RowList {
+
+    private int[] rows;
+    private int size;
+
+    RowList() {
+        rows = new int[4];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int get(int i) {
+        return rows[i];
+    }
+
+    // No-op if the row is already there
+    void add(int row) {
+        int at = size;
+        if (size > 0 && rows[size - 1] >= row) {
+            at = Arrays.binarySearch(rows, 0, size, row);
+            if (at >= 0) return;
+            at = -at - 1;
+        }
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        System.arraycopy(rows, at, rows, at + 1, size - at);
+        rows[at] = row;
+        size++;
+    }
+
+    void remove(int row) {
+        int at = Arrays.binarySearch(rows, 0, size, row);
+        if (at < 0) return;
+        System.arraycopy(rows, at + 1, rows, at, size - at - 1);
+        size--;
+    }
+
+    // The store dropped rows (already taken out of this list): newRow[old] is
+    // each remaining row's new number. Order is unchanged, so it stays ascending.
+    void renumber(int[] newRow) {
+        for (int i = 0; i < size; i++) {
+            rows[i] = newRow[rows[i]];
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(rows, size);
+    }
+}
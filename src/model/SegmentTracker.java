@@ -0,0 +1,137 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+// Splits the inventory list into consecutive segments of at most SEGMENT_ROWS
+// rows and remembers which ones changed since the last persist, so a save only
+// rewrites those segments. Segments keep their id for life:
+//  - adds go to the last segment (a new one once it is full),
+//  - deletes shrink their segment; a small segment is merged into its neighbour,
+//  - updates just mark their segment dirty.
+class SegmentTracker {
+
+    static final int SEGMENT_ROWS = 4096;
+
+    private long[] ids = new long[8];
+    private int[] sizes = new int[8];
+    private int count;
+    private long nextId;
+
+    private final HashSet<Long> dirty = new HashSet<>();
+    private boolean full;       // nothing is on disk yet in this layout
+
+    // ========================= LAYOUT =========================
+
+    // Fresh layout for `rows` rows; everything has to be written
+    void reset(int rows) {
+        count = 0;
+        dirty.clear();
+        for (int left = rows; left > 0; left -= SEGMENT_ROWS) {
+            appendSegment(Math.min(left, SEGMENT_ROWS));
+        }
+        full = true;
+    }
+
+    // Layout of a store that was just loaded; nothing is dirty
+    void adopt(long[] segmentIds, int[] segmentSizes) {
+        count = 0;
+        dirty.clear();
+        nextId = 0;
+        for (int i = 0; i < segmentIds.length; i++) {
+            ensureCapacity(count + 1);
+            ids[count] = segmentIds[i];
+            sizes[count] = segmentSizes[i];
+            count++;
+            nextId = Math.max(nextId, segmentIds[i] + 1);
+        }
+        full = false;
+    }
+
+    // ========================= CHANGES =========================
+
+    void appended() {
+        if (count == 0 || sizes[count - 1] >= SEGMENT_ROWS) {
+            appendSegment(0);
+        }
+        sizes[count - 1]++;
+        dirty.add(ids[count - 1]);
+    }
+
+    void changed(int position) {
+        dirty.add(ids[segmentOf(position)]);
+    }
+
+    void removed(int position) {
+        int seg = segmentOf(position);
+        sizes[seg]--;
+        dirty.add(ids[seg]);
+
+        if (sizes[seg] == 0) {
+            removeSegment(seg);
+        } else if (sizes[seg] < SEGMENT_ROWS / 4 && seg + 1 < count
+                && sizes[seg] + sizes[seg + 1] <= SEGMENT_ROWS) {
+            // Keep the segment count bounded after many deletes
+            sizes[seg] += sizes[seg + 1];
+            removeSegment(seg + 1);
+        }
+    }
+
+    boolean hasChanges() {
+        return full || !dirty.isEmpty();
+    }
+
+    // Copies out the dirty segments' rows (list = the inventory list, in order)
+    // and starts tracking from a clean state
+    InventoryDelta take(List<Rocket> list) {
+        HashMap<Long, List<Rocket>> rows = new HashMap<>();
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            if (full || dirty.contains(ids[i])) {
+                rows.put(ids[i], new ArrayList<>(list.subList(start, start + sizes[i])));
+            }
+            start += sizes[i];
+        }
+
+        InventoryDelta delta = new InventoryDelta(Arrays.copyOf(ids, count), Arrays.copyOf(sizes, count), rows, full);
+        dirty.clear();
+        full = false;
+        return delta;
+    }
+
+    // ========================= HELPERS =========================
+
+    private int segmentOf(int position) {
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            start += sizes[i];
+            if (position < start) return i;
+        }
+        throw new IndexOutOfBoundsException("Position " + position + " is past the last segment");
+    }
+
+    private void appendSegment(int size) {
+        ensureCapacity(count + 1);
+        ids[count] = nextId++;
+        sizes[count] = size;
+        count++;
+    }
+
+    private void removeSegment(int seg) {
+        dirty.remove(ids[seg]);
+        System.arraycopy(ids, seg + 1, ids, seg, count - seg - 1);
+        System.arraycopy(sizes, seg + 1, sizes, seg, count - seg - 1);
+        count--;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed > ids.length) {
+            int cap = Math.max(needed, ids.length * 2);
+            ids = Arrays.copyOf(ids, cap);
+            sizes = Arrays.copyOf(sizes, cap);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package model;
+
+import java.util.ArrayList;
+
+// Rockets read from a segmented store together with its segment layout, so the
+// inventory can keep tracking changes per segment (see RocketInventory.setAllRockets).
+// The layout is missing when the data came from the previous copy (.bak) because
+// the current manifest was unusable; the next save then writes every segment.
+public class SegmentedSnapshot {
+
+    private final ArrayList<Rocket> rockets;
+    final long[] segmentIds;        // null = no layout
+    final int[] segmentSizes;
+    private final long journalCutoff;
+
+    SegmentedSnapshot(ArrayList<Rocket> rockets, long[] segmentIds, int[] segmentSizes, long journalCutoff) {
+        this.rockets = rockets;
+        this.segmentIds = segmentIds;
+        this.segmentSizes = segmentSizes;
+        this.journalCutoff = journalCutoff;
+    }
+
+    public ArrayList<Rocket> getRockets() {
+        return rockets;
+    }
+
+    public boolean hasLayout() {
+        return segmentIds != null;
+    }
+
+    // Journal records numbered below this are already in the data (pass it to
+    // RocketJournal.replayInto)
+    public long getJournalCutoff() {
+        return journalCutoff;
+    }
+}
@@ -0,0 +1,360 @@
+package model;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// Segmented on-disk layout: the inventory is stored as one binary snapshot file
+// per segment (see SegmentTracker) plus a small manifest listing them in order.
+//   <path>                      manifest (replaced atomically, previous one kept as .bak)
+//   <path>.segments/<id>-<gen>.rks   segment files, never overwritten
+// A save writes only the changed segments under new names, then swaps in a new
+// manifest, so its cost follows the size of the edit. Files used by neither the
+// new nor the previous manifest are deleted afterwards, but only once this
+// session has read the store's current manifest: if it couldn't, the files it
+// referenced may be the only copy of the data.
+//
+// Manifest (big-endian): magic "RKSM", version (short), generation (long),
+//   journal cutoff (long), segment count (int), then per segment:
+//   id (long), rows (int), file generation (long); CRC32 of everything before it (int).
+// The journal cutoff is the number of RocketJournal records the segments already
+// include. It is written in the same atomic manifest swap as the segments, so
+// replay can skip exactly those records even if the journal wasn't cut yet.
+class SegmentedSnapshotStore {
+
+    static final int MANIFEST_MAGIC = 0x524B534D;  // "RKSM"
+    static final short MANIFEST_VERSION = 1;
+    static final String SEGMENT_DIR_SUFFIX = ".segments";
+
+    // Deltas whose save failed, merged into the next save of the same store
+    private static final HashMap<String, InventoryDelta> UNSAVED = new HashMap<>();
+
+    // Stores whose current manifest was read in this session (or that had no
+    // files at all); only these get unreferenced segment files deleted
+    private static final HashSet<String> LOADED = new HashSet<>();
+
+    private SegmentedSnapshotStore() {
+    }
+
+    // ========================= SAVE =========================
+
+    static synchronized void save(String path, InventoryDelta delta) throws IOException {
+        InventoryDelta pending = UNSAVED.remove(path);
+        InventoryDelta merged = (pending == null) ? delta : pending.mergeWith(delta);
+        try {
+            write(path, merged);
+        } catch (IOException | RuntimeException ex) {
+            UNSAVED.put(path, merged);
+            throw ex;
+        }
+    }
+
+    private static void write(String path, InventoryDelta delta) throws IOException {
+        Manifest old = readManifest(new File(path));
+        long gen = (old == null) ? unusedGeneration(path) : old.generation + 1;
+        long cutoff = (delta.journalCutoff >= 0) ? delta.journalCutoff : storedCutoff(path, old);
+
+        Path dir = Path.of(path + SEGMENT_DIR_SUFFIX);
+        Files.createDirectories(dir);
+
+        int n = delta.segmentIds.length;
+        long[] fileGens = new long[n];
+        for (int i = 0; i < n; i++) {
+            long id = delta.segmentIds[i];
+            List<Rocket> rows = delta.rows.get(id);
+
+            if (rows != null) {
+                if (rows.size() != delta.segmentSizes[i]) {
+                    throw new IllegalStateException("Segment " + id + " has " + rows.size() + " rows, expected " + delta.segmentSizes[i]);
+                }
+                writeSegment(dir.resolve(fileName(id, gen)), rows);
+                fileGens[i] = gen;
+            } else {
+                long fileGen = (old == null) ? -1 : old.fileGenerationOf(id);
+                if (fileGen < 0) {
+                    throw new IOException("Segment " + id + " is not on disk; the inventory needs a full save");
+                }
+                fileGens[i] = fileGen;
+            }
+        }
+        RocketFileManager.syncDirectory(dir);
+
+        Manifest next = new Manifest(gen, cutoff, delta.segmentIds, delta.segmentSizes, fileGens);
+        byte[] manifest = next.encode();
+        RocketFileManager.writeAtomically(path, out -> out.write(manifest));
+
+        if (LOADED.contains(path)) {
+            deleteUnreferenced(dir, next, old);
+        }
+    }
+
+    // Cutoff of the data the delta was made against: the current manifest, or the
+    // previous copy when the current one is unreadable (load() falls back the same way)
+    private static long storedCutoff(String path, Manifest current) throws IOException {
+        if (current != null) return current.journalCutoff;
+        Manifest backup = readManifest(new File(path + ".bak"));
+        return (backup == null) ? 0 : backup.journalCutoff;
+    }
+
+    // Without a readable manifest: a generation above the previous manifest's and
+    // every segment file's, so no existing file is overwritten
+    private static long unusedGeneration(String path) throws IOException {
+        Manifest backup = readManifest(new File(path + ".bak"));
+        long max = (backup == null) ? 0 : backup.generation;
+
+        Path dir = Path.of(path + SEGMENT_DIR_SUFFIX);
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                for (Path f : files) {
+                    max = Math.max(max, fileGenerationOf(f.getFileName().toString()));
+                }
+            }
+        }
+        return max + 1;
+    }
+
+    private static void writeSegment(Path file, List<Rocket> rows) throws IOException {
+        byte[] bytes = BinarySnapshotCodec.encode(rows, RocketFileManager.COMPRESS_SNAPSHOTS);
+        try (FileOutputStream out = new FileOutputStream(file.toFile())) {
+            out.write(bytes);
+            out.getChannel().force(true);
+        }
+    }
+
+    // Keeps the files of the new and the previous manifest (the .bak fallback)
+    private static void deleteUnreferenced(Path dir, Manifest next, Manifest previous) {
+        HashSet<String> keep = new HashSet<>();
+        next.addFileNames(keep);
+        if (previous != null) previous.addFileNames(keep);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path f : files) {
+                if (!keep.contains(f.getFileName().toString())) {
+                    Files.deleteIfExists(f);
+                }
+            }
+        } catch (IOException ex) {
+            // Leftover files only cost disk space; the next save tries again
+        }
+    }
+
+    // True while a failed save's changes wait for the next save of this store
+    static synchronized boolean hasUnsaved(String path) {
+        return UNSAVED.containsKey(path);
+    }
+
+    private static synchronized void markLoaded(String path) {
+        LOADED.add(path);
+    }
+
+    // Moves the whole store (manifest, previous manifest, segment files and journal)
+    // into a new folder next to it, so nothing written later can replace or delete
+    // it. Returns the folder, or null if there was nothing to move.
+    static synchronized Path moveAside(String path) throws IOException {
+        Path manifest = Path.of(path);
+        Path folder = manifest.resolveSibling(manifest.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        boolean moved = false;
+        for (String suffix : new String[] {"", ".bak", SEGMENT_DIR_SUFFIX, ".journal"}) {
+            Path part = Path.of(path + suffix);
+            if (Files.exists(part)) {
+                Files.createDirectories(folder);
+                Files.move(part, folder.resolve(part.getFileName()));
+                moved = true;
+            }
+        }
+        LOADED.remove(path);
+        return moved ? folder : null;
+    }
+
+    // ========================= LOAD =========================
+
+    // Loads the current generation, falling back to the previous one (<path>.bak).
+    static SegmentedSnapshot load(String path, List<String> problems) throws IOException {
+        File file = new File(path);
+        File backup = new File(path + ".bak");
+
+        if (file.exists()) {
+            try {
+                SegmentedSnapshot current = loadGeneration(file, path);
+                markLoaded(path);
+                return current;
+            } catch (IOException ex) {
+                if (!backup.exists()) {
+                    throw new IOException("Data file is corrupt and no previous copy exists: " + path
+                            + " (" + ex.getMessage() + ")", ex);
+                }
+                note(problems, "Data file failed its checksum check; loaded the previous saved copy instead.");
+            }
+        } else if (backup.exists()) {
+            note(problems, "Data file was missing; loaded the previous saved copy instead.");
+        } else {
+            // No store yet, unless segment files were left without a manifest
+            if (!hasSegmentFiles(path)) {
+                markLoaded(path);
+            }
+            return new SegmentedSnapshot(new ArrayList<>(), new long[0], new int[0], 0);
+        }
+
+        try {
+            // Layout dropped: the current manifest is unusable, so rewrite everything next time
+            SegmentedSnapshot previous = loadGeneration(backup, path);
+            return new SegmentedSnapshot(previous.getRockets(), null, null, previous.getJournalCutoff());
+        } catch (IOException ex) {
+            throw new IOException("Data file and its previous copy are both corrupt: " + path
+                    + " (" + ex.getMessage() + ")", ex);
+        }
+    }
+
+    private static SegmentedSnapshot loadGeneration(File file, String path) throws IOException {
+        Manifest m = Manifest.decode(Files.readAllBytes(file.toPath()));
+        if (m == null) throw new IOException("Manifest is corrupt");
+
+        Path dir = Path.of(path + SEGMENT_DIR_SUFFIX);
+        long total = 0;
+        for (int size : m.sizes) total += size;
+        ArrayList<Rocket> rockets = new ArrayList<>((int) Math.min(total, Integer.MAX_VALUE));
+
+        for (int i = 0; i < m.ids.length; i++) {
+            Path seg = dir.resolve(fileName(m.ids[i], m.fileGens[i]));
+            if (!Files.exists(seg)) throw new IOException("Segment file is missing: " + seg);
+
+            ArrayList<Rocket> rows = BinarySnapshotCodec.decode(Files.readAllBytes(seg));
+            if (rows.size() != m.sizes[i]) throw new IOException("Segment file has the wrong row count: " + seg);
+            rockets.addAll(rows);
+        }
+        return new SegmentedSnapshot(rockets, m.ids, m.sizes, m.journalCutoff);
+    }
+
+    // Paged access to the current generation: only the manifest is read here.
+    // Throws if the file isn't a readable segmented store (the caller can fall
+    // back to load(), which knows how to recover).
+    static PagedRocketStore openPaged(String path, int cachedPages) throws IOException {
+        Manifest m = readManifest(new File(path));
+        if (m == null) throw new IOException("Not a readable segmented store: " + path);
+        markLoaded(path);
+
+        Path dir = Path.of(path + SEGMENT_DIR_SUFFIX);
+        Path[] files = new Path[m.ids.length];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = dir.resolve(fileName(m.ids[i], m.fileGens[i]));
+        }
+        return new PagedRocketStore(files, m.ids, m.sizes, m.generation, m.journalCutoff, cachedPages);
+    }
+
+    private static boolean hasSegmentFiles(String path) throws IOException {
+        Path dir = Path.of(path + SEGMENT_DIR_SUFFIX);
+        if (!Files.isDirectory(dir)) return false;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            return files.iterator().hasNext();
+        }
+    }
+
+    // ========================= MANIFEST =========================
+
+    private static String fileName(long id, long generation) {
+        return id + "-" + generation + ".rks";
+    }
+
+    // Generation part of a fileName(); 0 for any other file
+    private static long fileGenerationOf(String name) {
+        int dash = name.indexOf('-');
+        if (dash < 0 || !name.endsWith(".rks")) return 0;
+        try {
+            return Long.parseLong(name.substring(dash + 1, name.length() - 4));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+
+    // null if missing, not a manifest, or corrupt
+    private static Manifest readManifest(File file) throws IOException {
+        if (!file.exists()) return null;
+        return Manifest.decode(Files.readAllBytes(file.toPath()));
+    }
+
+    private static class Manifest {
+        final long generation;
+        final long journalCutoff;
+        final long[] ids;
+        final int[] sizes;
+        final long[] fileGens;
+
+        Manifest(long generation, long journalCutoff, long[] ids, int[] sizes, long[] fileGens) {
+            this.generation = generation;
+            this.journalCutoff = journalCutoff;
+            this.ids = ids;
+            this.sizes = sizes;
+            this.fileGens = fileGens;
+        }
+
+        long fileGenerationOf(long id) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) return fileGens[i];
+            }
+            return -1;
+        }
+
+        void addFileNames(HashSet<String> names) {
+            for (int i = 0; i < ids.length; i++) {
+                names.add(fileName(ids[i], fileGens[i]));
+            }
+        }
+
+        byte[] encode() {
+            ByteBuffer out = ByteBuffer.allocate(4 + 2 + 8 + 8 + 4 + ids.length * 20 + 4);
+            out.putInt(MANIFEST_MAGIC);
+            out.putShort(MANIFEST_VERSION);
+            out.putLong(generation);
+            out.putLong(journalCutoff);
+            out.putInt(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                out.putLong(ids[i]).putInt(sizes[i]).putLong(fileGens[i]);
+            }
+            out.putInt(crc(out.array(), out.position()));
+            return out.array();
+        }
+
+        static Manifest decode(byte[] bytes) {
+            if (bytes.length < 30) return null;
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            if (in.getInt() != MANIFEST_MAGIC) return null;
+            if (in.getShort() != MANIFEST_VERSION) return null;
+            long generation = in.getLong();
+            long journalCutoff = in.getLong();
+            int n = in.getInt();
+            if (n < 0 || bytes.length != 4 + 2 + 8 + 8 + 4 + (long) n * 20 + 4) return null;
+            if (ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt() != crc(bytes, bytes.length - 4)) return null;
+
+            long[] ids = new long[n];
+            int[] sizes = new int[n];
+            long[] fileGens = new long[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = in.getLong();
+                sizes[i] = in.getInt();
+                fileGens[i] = in.getLong();
+            }
+            return new Manifest(generation, journalCutoff, ids, sizes, fileGens);
+        }
+    }
+
+    private static int crc(byte[] b, int len) {
+        CRC32 crc = new CRC32();
+        crc.update(b, 0, len);
+        return (int) crc.getValue();
+    }
+
+    private static void note(List<String> problems, String message) {
+        if (problems != null) {
+            problems.add(message);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+// Keeps the inventory's rows ordered by one key so searches and sorts can read
+// it directly instead of copying and re-sorting the whole list. Holds row
+// numbers only, in an int array; keys are read from the store while comparing.
+// Ties are ordered by row, which is list order, so results come out exactly
+// like the old stable insertion sort.
+// remove() must run while the row still holds its key.
+class SortedRocketIndex {
+
+    // Compares the keys of two rows
+    interface KeyOrder {
+        int compare(int rowA, int rowB);
+    }
+
+    private final KeyOrder keyOrder;
+    private int[] rows = new int[16];
+    private int size;
+
+    SortedRocketIndex(KeyOrder keyOrder) {
+        this.keyOrder = keyOrder;
+    }
+
+    // Key, then row
+    private int compare(int a, int b) {
+        int cmp = keyOrder.compare(a, b);
+        return (cmp != 0) ? cmp : Integer.compare(a, b);
+    }
+
+    void add(int row) {
+        int at = position(row);
+        if (at >= 0) return;
+        at = -at - 1;
+        if (size == rows.length) {
+            rows = Arrays.copyOf(rows, size * 2);
+        }
+        System.arraycopy(rows, at, rows, at + 1, size - at);
+        rows[at] = row;
+        size++;
+    }
+
+    // Bulk add of rows [from, to): sorted on their own, then merged in (one pass)
+    void addRange(int from, int to) {
+        int n = to - from;
+        if (n <= 0) return;
+        int[] added = new int[n];
+        for (int i = 0; i < n; i++) added[i] = from + i;
+        sort(added);
+
+        int[] merged = new int[Math.max(16, size + n)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < n) {
+            merged[k++] = (compare(rows[i], added[j]) <= 0) ? rows[i++] : added[j++];
+        }
+        while (i < size) merged[k++] = rows[i++];
+        while (j < n) merged[k++] = added[j++];
+        rows = merged;
+        size = k;
+    }
+
+    void remove(int row) {
+        int at = position(row);
+        if (at < 0) return;
+        System.arraycopy(rows, at + 1, rows, at, size - at - 1);
+        size--;
+    }
+
+    // The store dropped rows (already taken out of this index): newRow[old] is
+    // each remaining row's new number. Relative order is unchanged, so no re-sorting.
+    void renumber(int[] newRow) {
+        for (int i = 0; i < size; i++) {
+            rows[i] = newRow[rows[i]];
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // probe(row) compares the row's key with the searched key (<0, 0, >0).
+
+    // First row (in list order) whose key matches, or -1
+    int findFirst(IntUnaryOperator probe) {
+        int at = lowerBound(probe);
+        return (at < size && probe.applyAsInt(rows[at]) == 0) ? rows[at] : -1;
+    }
+
+    // Rows with from <= key <= to, in key order (either probe may be null for an open end)
+    int[] range(IntUnaryOperator from, IntUnaryOperator to) {
+        int lo = (from == null) ? 0 : lowerBound(from);
+        int hi = (to == null) ? size : upperBound(to);
+        return (lo < hi) ? Arrays.copyOfRange(rows, lo, hi) : new int[0];
+    }
+
+    // Number of rows range() would return, in O(log n)
+    int countRange(IntUnaryOperator from, IntUnaryOperator to) {
+        int lo = (from == null) ? 0 : lowerBound(from);
+        int hi = (to == null) ? size : upperBound(to);
+        return Math.max(0, hi - lo);
+    }
+
+    int[] toArray(boolean ascending) {
+        if (ascending) {
+            return Arrays.copyOf(rows, size);
+        }
+
+        // Descending by key, but equal keys keep list order (stable, like the old sort):
+        // walk backwards and flip each run of equal keys back around.
+        int[] out = new int[size];
+        int n = 0;
+        int runStart = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if (n > 0 && keyOrder.compare(rows[i], out[runStart]) != 0) {
+                reverse(out, runStart, n);
+                runStart = n;
+            }
+            out[n++] = rows[i];
+        }
+        reverse(out, runStart, n);
+        return out;
+    }
+
+    // ========================= INTERNALS =========================
+
+    // Index of the row in rows, or -(insertion point) - 1
+    private int position(int row) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(rows[mid], row);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    // First index whose key is >= the probe's
+    private int lowerBound(IntUnaryOperator probe) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (probe.applyAsInt(rows[mid]) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index whose key is > the probe's
+    private int upperBound(IntUnaryOperator probe) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (probe.applyAsInt(rows[mid]) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Merge sort on the full order (the JDK has no comparator sort for int[])
+    private void sort(int[] a) {
+        int[] buf = new int[a.length];
+        for (int width = 1; width < a.length; width *= 2) {
+            for (int lo = 0; lo < a.length - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, a.length);
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    buf[k++] = (compare(a[i], a[j]) <= 0) ? a[i++] : a[j++];
+                }
+                while (i < mid) buf[k++] = a[i++];
+                while (j < hi) buf[k++] = a[j++];
+                System.arraycopy(buf, lo, a, lo, hi - lo);
+            }
+        }
+    }
+
+    private static void reverse(int[] a, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int tmp = a[i];
+            a[i] = a[j];
+            a[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Moves saving off the Swing event thread. Changes are queued (bounded, so a
+// stalled disk eventually pushes back instead of growing memory) and a single
+// background thread writes them:
+//  - with a journal, everything queued is appended as one batch, and an inventory
+//    delta becomes a compaction at its place in the queue (see submitDelta);
+//  - without one, the queued inventory deltas are merged and saved once, so only
+//    the segments they touched are rewritten.
+// Failures go to the error handler on the writer thread; it must not block.
+public class WriteBehindPersister implements Closeable {
+
+    public static final int QUEUE_CAPACITY = 4096;
+
+    // Queued by close() behind everything else: the writer stops once it reaches it
+    private static final Object STOP = new Object();
+
+    private final RocketJournal journal;           // null = snapshot mode
+    private final String snapshotPath;
+    private final Consumer<IOException> onError;
+
+    private final ArrayBlockingQueue<Object> queue; // RocketJournal.Entry or InventoryDelta
+    private final Thread writer;
+
+    // Flush bookkeeping: items handed to submit vs. items fully written (or failed)
+    private long submitted;
+    private long completed;
+    private volatile boolean closed;
+
+    public WriteBehindPersister(RocketJournal journal, String snapshotPath, Consumer<IOException> onError) {
+        this.journal = journal;
+        this.snapshotPath = snapshotPath;
+        this.onError = onError;
+        this.queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        writer = new Thread(this::run, "rocket-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ========================= SUBMIT (caller thread) =========================
+
+    public void submitChange(RocketJournal.Op op, String key, Rocket rocket) {
+        enqueue(new RocketJournal.Entry(op, key, rocket));
+    }
+
+    // delta comes from RocketInventory.takeChanges() (its rows are private copies).
+    // With a journal it is compacted once the changes submitted before it are
+    // appended, so the compaction cutoff covers exactly what the delta holds
+    public void submitDelta(InventoryDelta delta) {
+        enqueue(delta);
+    }
+
+    public boolean hasJournal() {
+        return journal != null;
+    }
+
+    private void enqueue(Object item) {
+        if (closed) {
+            throw new IllegalStateException("Persister is closed");
+        }
+        synchronized (this) {
+            submitted++;
+        }
+        try {
+            queue.put(item);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            markDone(1);
+        }
+    }
+
+    // ========================= FLUSH / CLOSE =========================
+
+    // Waits until everything submitted before this call has been written.
+    // Returns false if the timeout ran out first.
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this) {
+            long target = submitted;
+            while (completed < target) {
+                long left = deadline - System.nanoTime();
+                if (left <= 0) return false;
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.sync();
+            } catch (IOException ex) {
+                onError.accept(ex);
+            }
+        }
+        return true;
+    }
+
+    // Writes what is queued, stops the writer and closes the journal. The writer
+    // is never interrupted: an interrupt during a write closes the journal's
+    // FileChannel (ClosedByInterruptException). If the writer hasn't finished
+    // within 30 seconds, the journal is left open for it and this throws.
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        boolean stopped = false;
+        try {
+            if (queue.offer(STOP, 30, TimeUnit.SECONDS)) {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+                stopped = !writer.isAlive();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (!stopped) {
+            throw new IOException("Queued changes were still being written after 30 seconds");
+        }
+
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    // ========================= WRITER THREAD =========================
+
+    private void run() {
+        ArrayList<Object> batch = new ArrayList<>();
+        ArrayList<RocketJournal.Entry> entries = new ArrayList<>();
+
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                continue;
+            }
+            // Coalesce: everything that piled up while the last write ran goes in one go
+            queue.drainTo(batch);
+            stop = batch.remove(STOP);
+
+            InventoryDelta delta = null;
+            for (Object item : batch) {
+                if (item instanceof RocketJournal.Entry e) {
+                    entries.add(e);
+                } else if (journal != null) {
+                    // Records queued before the delta are in it, later ones aren't.
+                    // The delta is compacted even if the append failed: the
+                    // inventory has already forgotten it
+                    append(entries);
+                    journal.compactAsync((InventoryDelta) item);
+                } else {
+                    InventoryDelta d = (InventoryDelta) item;
+                    delta = (delta == null) ? d : delta.mergeWith(d);
+                }
+            }
+
+            if (journal != null) {
+                append(entries);
+            }
+            if (delta != null) {
+                try {
+                    RocketFileManager.saveSegments(snapshotPath, delta);
+                } catch (IOException ex) {
+                    onError.accept(ex);
+                } catch (RuntimeException ex) {
+                    onError.accept(new IOException(ex));
+                }
+            }
+
+            markDone(batch.size());
+            batch.clear();
+        }
+    }
+
+    // Appends and empties entries; a failure goes to the error handler
+    private void append(ArrayList<RocketJournal.Entry> entries) {
+        try {
+            journal.appendAll(entries);
+        } catch (IOException ex) {
+            onError.accept(ex);
+        } catch (RuntimeException ex) {
+            onError.accept(new IOException(ex));
+        }
+        entries.clear();
+    }
+
+    private synchronized void markDone(int items) {
+        completed += items;
+        notifyAll();
+    }
+}
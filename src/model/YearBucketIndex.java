@@ -0,0 +1,132 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import util.Validator;
+
+// One bucket of row numbers per launch year in the Validator range (plus a
+// sparse map for the odd out-of-range year in a hand-edited file). Buckets are
+// ascending, i.e. in list order, so every result comes out in list order.
+class YearBucketIndex {
+
+    private static final int RANGE = Validator.MAX_YEAR - Validator.MIN_YEAR + 1;
+
+    private final RowList[] buckets;
+    private final TreeMap<Integer, RowList> outliers;
+
+    YearBucketIndex() {
+        buckets = new RowList[RANGE];
+        outliers = new TreeMap<>();
+    }
+
+    void add(int year, int row) {
+        bucketFor(year, true).add(row);
+    }
+
+    void remove(int year, int row) {
+        RowList bucket = bucketFor(year, false);
+        if (bucket == null) return;
+
+        bucket.remove(row);
+        if (bucket.isEmpty()) {
+            if (inRange(year)) {
+                buckets[year - Validator.MIN_YEAR] = null;
+            } else {
+                outliers.remove(year);
+            }
+        }
+    }
+
+    // The store dropped rows (already taken out of this index); see RowList.renumber
+    void renumber(int[] newRow) {
+        for (RowList bucket : buckets) {
+            if (bucket != null) bucket.renumber(newRow);
+        }
+        for (RowList bucket : outliers.values()) {
+            bucket.renumber(newRow);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(buckets, null);
+        outliers.clear();
+    }
+
+    int count(int year) {
+        RowList bucket = bucketFor(year, false);
+        return (bucket == null) ? 0 : bucket.size();
+    }
+
+    // Rows matching(yearTest) would return, without building them
+    int countMatching(IntPredicate yearTest) {
+        int n = 0;
+        for (int i = 0; i < RANGE; i++) {
+            if (buckets[i] != null && yearTest.test(Validator.MIN_YEAR + i)) n += buckets[i].size();
+        }
+        for (Map.Entry<Integer, RowList> e : outliers.entrySet()) {
+            if (yearTest.test(e.getKey())) n += e.getValue().size();
+        }
+        return n;
+    }
+
+    int[] exact(int year) {
+        RowList bucket = bucketFor(year, false);
+        return (bucket == null) ? new int[0] : bucket.toArray();
+    }
+
+    int[] range(int fromYear, int toYear) {
+        return matching(y -> y >= fromYear && y <= toYear);
+    }
+
+    // Rows whose year passes the test; the test runs once per populated year, not per row
+    int[] matching(IntPredicate yearTest) {
+        int[] rows = new int[0];
+        int n = 0;
+        int years = 0;
+
+        for (int i = 0; i < RANGE; i++) {
+            if (buckets[i] != null && yearTest.test(Validator.MIN_YEAR + i)) {
+                rows = append(rows, n, buckets[i]);
+                n += buckets[i].size();
+                years++;
+            }
+        }
+        for (Map.Entry<Integer, RowList> e : outliers.entrySet()) {
+            if (yearTest.test(e.getKey())) {
+                rows = append(rows, n, e.getValue());
+                n += e.getValue().size();
+                years++;
+            }
+        }
+
+        rows = Arrays.copyOf(rows, n);
+        // Several years: sort the rows so the result stays in list order
+        if (years > 1) Arrays.sort(rows);
+        return rows;
+    }
+
+    private static int[] append(int[] rows, int n, RowList bucket) {
+        if (n + bucket.size() > rows.length) {
+            rows = Arrays.copyOf(rows, Math.max(n + bucket.size(), rows.length * 2));
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            rows[n + i] = bucket.get(i);
+        }
+        return rows;
+    }
+
+    private RowList bucketFor(int year, boolean create) {
+        if (inRange(year)) {
+            int i = year - Validator.MIN_YEAR;
+            if (buckets[i] == null && create) buckets[i] = new RowList();
+            return buckets[i];
+        }
+        return create ? outliers.computeIfAbsent(year, k -> new RowList()) : outliers.get(year);
+    }
+
+    private static boolean inRange(int year) {
+        return year >= Validator.MIN_YEAR && year <= Validator.MAX_YEAR;
+    }
+}
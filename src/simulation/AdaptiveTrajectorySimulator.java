@@ -0,0 +1,184 @@
+package simulation;
+
+import model.Rocket;
+
+// Same flight model as TrajectorySimulator, integrated with adaptive
+// Dormand-Prince steps: long steps through the coast, short ones where the
+// solution bends, for the error bound in LaunchConfig.tolerance(...).
+// Key moments are located exactly rather than read off step ends:
+//   burnout     - known from the constant mass flow, so the burn is integrated
+//                 up to it as its own phase (no step ever straddles the thrust cut)
+//   apogee      - vertical velocity crosses zero going down
+//   max-Q       - d(dynamic pressure)/dt crosses zero going down (also checked
+//                 at burnout and at the end, where it can jump)
+//   impact      - altitude crosses zero going down; ends the run
+// Buffers, events and the integrator are created once; a run allocates only its
+// result. Not thread-safe: use one simulator per thread.
+public class AdaptiveTrajectorySimulator {
+
+    // Caps a step so two crossings of the same event can't hide inside it
+    private static final double MAX_STEP = 60.0;
+
+    private final LaunchConfig config;
+    private final TrajectoryModel model;
+    private final DormandPrinceIntegrator integrator;
+    private final double[] state = new double[TrajectoryModel.SIZE];
+    private final double[] rates = new double[TrajectoryModel.SIZE];
+    private final DormandPrinceIntegrator.Event[] events;
+
+    // Filled in by the events during a run
+    private double apogee;
+    private double apogeeTime;
+    private double maxQ;
+    private double maxQTime;
+    private boolean landed;
+    private double impactTime;
+    private double impactRange;
+
+    public AdaptiveTrajectorySimulator() {
+        this(new LaunchConfig());
+    }
+
+    public AdaptiveTrajectorySimulator(LaunchConfig config) {
+        this.config = config;
+        this.model = new TrajectoryModel(config);
+        this.integrator = new DormandPrinceIntegrator(TrajectoryModel.SIZE, config.relTolerance, config.absTolerance);
+        this.integrator.setMaxStep(MAX_STEP);
+        this.events = new DormandPrinceIntegrator.Event[]{new Apogee(), new MaxQ(), new Impact()};
+    }
+
+    public TrajectoryResult simulate(Rocket rocket) {
+        return simulate(rocket.getMass() * config.massUnit, rocket.getThrust() * config.thrustUnit);
+    }
+
+    // SI units: kg and N
+    public TrajectoryResult simulate(double liftoffMass, double thrust) {
+        return simulate(liftoffMass, thrust, 1.0, config.wind);
+    }
+
+    // With the drag coefficient scaled and a different wind (dispersion runs)
+    TrajectoryResult simulate(double liftoffMass, double thrust, double dragScale, double wind) {
+        model.seed(liftoffMass, thrust, state);
+        model.dragFactor *= dragScale;
+        model.wind = wind;
+        double burnTime = model.burnTime;
+
+        double t = model.liftoffTime(liftoffMass);
+        if (Double.isNaN(t)) return TrajectoryResult.grounded(burnTime);
+        double liftoff = t;
+        state[TrajectoryModel.MASS] = liftoffMass - model.massFlow * t;
+
+        apogee = 0;
+        apogeeTime = t;
+        maxQ = 0;
+        maxQTime = t;
+        landed = false;
+        integrator.resetCounters();
+
+        // Powered phase, ending exactly at burnout
+        if (model.burning) {
+            t = integrator.integrate(model, t, state, Math.min(burnTime, config.maxFlightTime), events);
+            notePressure(t, state);
+        }
+
+        // Coast
+        model.burning = false;
+        if (!landed) {
+            t = integrator.integrate(model, t, state, config.maxFlightTime, events);
+        }
+        notePressure(t, state);
+
+        if (landed) {
+            return new TrajectoryResult(true, true, apogee, apogeeTime, impactRange, liftoff, burnTime, impactTime,
+                    maxQ, maxQTime, integrator.getStepCount());
+        }
+        if (state[TrajectoryModel.Y] > apogee) {
+            apogee = state[TrajectoryModel.Y];
+            apogeeTime = t;
+        }
+        return new TrajectoryResult(true, false, apogee, apogeeTime, state[TrajectoryModel.X], liftoff, burnTime,
+                Double.NaN, maxQ, maxQTime, integrator.getStepCount());
+    }
+
+    private void notePressure(double t, double[] y) {
+        double q = model.dynamicPressure(y);
+        if (q > maxQ) {
+            maxQ = q;
+            maxQTime = t;
+        }
+    }
+
+    // ========================= EVENTS =========================
+
+    private class Apogee implements DormandPrinceIntegrator.Event {
+        @Override
+        public double g(double t, double[] y) {
+            return y[TrajectoryModel.VY];
+        }
+
+        @Override
+        public int direction() {
+            return -1;
+        }
+
+        @Override
+        public boolean isTerminal() {
+            return false;
+        }
+
+        @Override
+        public void occurred(double t, double[] y) {
+            if (y[TrajectoryModel.Y] > apogee) {
+                apogee = y[TrajectoryModel.Y];
+                apogeeTime = t;
+            }
+        }
+    }
+
+    private class MaxQ implements DormandPrinceIntegrator.Event {
+        @Override
+        public double g(double t, double[] y) {
+            model.derivatives(t, y, rates);
+            return model.dynamicPressureRate(y, rates);
+        }
+
+        @Override
+        public int direction() {
+            return -1;
+        }
+
+        @Override
+        public boolean isTerminal() {
+            return false;
+        }
+
+        @Override
+        public void occurred(double t, double[] y) {
+            notePressure(t, y);
+        }
+    }
+
+    private class Impact implements DormandPrinceIntegrator.Event {
+        @Override
+        public double g(double t, double[] y) {
+            return y[TrajectoryModel.Y];
+        }
+
+        @Override
+        public int direction() {
+            return -1;
+        }
+
+        @Override
+        public boolean isTerminal() {
+            return true;
+        }
+
+        @Override
+        public void occurred(double t, double[] y) {
+            landed = true;
+            impactTime = t;
+            impactRange = y[TrajectoryModel.X];
+        }
+    }
+}
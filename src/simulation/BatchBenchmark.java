@@ -0,0 +1,77 @@
+package simulation;
+
+import java.util.Random;
+
+// Scalar TrajectorySimulator against BatchTrajectorySimulator on the same set of
+// vehicles; run with --add-modules jdk.incubator.vector, e.g.
+//   java --add-modules jdk.incubator.vector -cp build/classes simulation.BatchBenchmark 4096
+// Prints the time per run of each path, the speed-up and the largest relative
+// difference in apogee, range and time of flight between them.
+public class BatchBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int TIMED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1024;
+        if (n < 1) throw new IllegalArgumentException("Rocket count must be at least 1.");
+
+        // A spread of vehicles around 500 t / 7600 kN, so lanes burn out and land at different times
+        Random rng = new Random(42);
+        double[] mass = new double[n];
+        double[] thrust = new double[n];
+        for (int i = 0; i < n; i++) {
+            mass[i] = 500_000 * (0.8 + 0.4 * rng.nextDouble());
+            thrust[i] = 7_600_000 * (0.8 + 0.4 * rng.nextDouble());
+        }
+
+        LaunchConfig config = new LaunchConfig();
+        TrajectorySimulator scalar = new TrajectorySimulator(config);
+        BatchTrajectorySimulator batch = new BatchTrajectorySimulator(config);
+        TrajectoryResult[] scalarResults = new TrajectoryResult[n];
+        TrajectoryResult[] batchResults = null;
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            for (int i = 0; i < n; i++) scalarResults[i] = scalar.simulate(mass[i], thrust[i]);
+            batchResults = batch.simulate(mass, thrust);
+        }
+
+        long scalarNanos = Long.MAX_VALUE;
+        long batchNanos = Long.MAX_VALUE;
+        for (int round = 0; round < TIMED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < n; i++) scalarResults[i] = scalar.simulate(mass[i], thrust[i]);
+            scalarNanos = Math.min(scalarNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            batchResults = batch.simulate(mass, thrust);
+            batchNanos = Math.min(batchNanos, System.nanoTime() - start);
+        }
+
+        double worst = 0;
+        int mismatched = 0;
+        for (int i = 0; i < n; i++) {
+            TrajectoryResult a = scalarResults[i];
+            TrajectoryResult b = batchResults[i];
+            if (a.hasLiftedOff() != b.hasLiftedOff() || a.hasLanded() != b.hasLanded()) {
+                mismatched++;
+                continue;
+            }
+            if (!a.hasLiftedOff()) continue;
+            worst = Math.max(worst, relative(a.getApogee(), b.getApogee()));
+            worst = Math.max(worst, relative(a.getRange(), b.getRange()));
+            if (a.hasLanded()) worst = Math.max(worst, relative(a.getTimeOfFlight(), b.getTimeOfFlight()));
+        }
+
+        System.out.printf("%d rockets, %d lanes per vector%n", n, BatchTrajectorySimulator.LANES);
+        System.out.printf("scalar: %10.1f us/run%n", scalarNanos / 1e3 / n);
+        System.out.printf("batch:  %10.1f us/run%n", batchNanos / 1e3 / n);
+        System.out.printf("speed-up: %.2fx%n", (double) scalarNanos / batchNanos);
+        System.out.printf("max relative difference: %.3g, outcome mismatches: %d%n", worst, mismatched);
+    }
+
+    private static double relative(double a, double b) {
+        double scale = Math.max(Math.abs(a), Math.abs(b));
+        return (scale == 0) ? 0 : Math.abs(a - b) / scale;
+    }
+}
@@ -0,0 +1,287 @@
+package simulation;
+
+import java.util.List;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import model.Rocket;
+
+// Batch mode of TrajectorySimulator: the same fixed-step RK4 flight, run for
+// many rockets at once with the Vector API (jdk.incubator.vector; needs
+// --add-modules jdk.incubator.vector at compile and run time).
+//
+// Rockets are taken one vector's worth (LANES) at a time. A block's state is
+// kept structure-of-arrays - x[lane], y[lane], ... - in small buffers that stay
+// in L1, and all its lanes advance in lockstep until every one has finished.
+// Each lane keeps its own clock and step size, so it follows exactly the scalar
+// algorithm: start at its own liftoff, clip the step that reaches its own
+// burnout, interpolate its own ground impact. Lanes that have landed (or hit
+// maxFlightTime, or never lifted off) are masked out and stop changing while
+// the others carry on. Results agree with the scalar path to rounding (vector
+// exp/sqrt may differ from Math's in the last bits).
+// Not thread-safe: use one simulator per thread.
+public class BatchTrajectorySimulator {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    public static final int LANES = SPECIES.length();
+
+    // Offsets of each state component in the state / stage buffers
+    private static final int X = TrajectoryModel.X * LANES;
+    private static final int Y = TrajectoryModel.Y * LANES;
+    private static final int VX = TrajectoryModel.VX * LANES;
+    private static final int VY = TrajectoryModel.VY * LANES;
+    private static final int MASS = TrajectoryModel.MASS * LANES;
+    private static final int SIZE = TrajectoryModel.SIZE * LANES;
+
+    private final LaunchConfig config;
+    private final TrajectoryModel model;    // per-rocket set-up, scalar
+
+    // One block's buffers, reused for every block
+    private final double[] state = new double[SIZE];
+    private final double[] stage = new double[SIZE];
+    private final double[] k1 = new double[SIZE];
+    private final double[] k2 = new double[SIZE];
+    private final double[] k3 = new double[SIZE];
+    private final double[] k4 = new double[SIZE];
+    private final double[] thrustNow = new double[LANES];     // thrust while burning, else 0
+    private final double[] flowNow = new double[LANES];       // mass flow while burning, else 0
+    private final double[] dragFactor = new double[LANES];
+    private final double[] wind = new double[LANES];
+    private final double[] burnTime = new double[LANES];
+    private final double[] clock = new double[LANES];
+    private final boolean[] flying = new boolean[LANES];
+    private final double[] seedState = new double[TrajectoryModel.SIZE];
+
+    // Per-lane outputs of a block
+    private final double[] apogee = new double[LANES];
+    private final double[] apogeeTime = new double[LANES];
+    private final double[] maxQ = new double[LANES];
+    private final double[] maxQTime = new double[LANES];
+    private final double[] impact = new double[LANES];
+    private final double[] range = new double[LANES];
+    private final double[] steps = new double[LANES];
+    private final boolean[] landed = new boolean[LANES];
+
+    public BatchTrajectorySimulator(LaunchConfig config) {
+        this.config = config;
+        this.model = new TrajectoryModel(config);
+    }
+
+    public TrajectoryResult[] simulate(List<Rocket> rockets) {
+        int n = rockets.size();
+        double[] masses = new double[n];
+        double[] thrusts = new double[n];
+        for (int i = 0; i < n; i++) {
+            masses[i] = rockets.get(i).getMass() * config.massUnit;
+            thrusts[i] = rockets.get(i).getThrust() * config.thrustUnit;
+        }
+        return simulate(masses, thrusts);
+    }
+
+    // SI units: kg and N, one rocket per index
+    public TrajectoryResult[] simulate(double[] liftoffMass, double[] thrust) {
+        if (liftoffMass.length != thrust.length) {
+            throw new IllegalArgumentException("Mass and thrust arrays must have the same length.");
+        }
+        TrajectoryResult[] results = new TrajectoryResult[liftoffMass.length];
+        double[] liftoff = new double[LANES];
+
+        for (int base = 0; base < liftoffMass.length; base += LANES) {
+            int count = Math.min(LANES, liftoffMass.length - base);
+            for (int lane = 0; lane < LANES; lane++) {
+                liftoff[lane] = (lane < count) ? seedLane(lane, liftoffMass[base + lane], thrust[base + lane]) : padLane(lane);
+            }
+
+            flyBlock();
+
+            for (int lane = 0; lane < count; lane++) {
+                if (Double.isNaN(liftoff[lane])) {
+                    results[base + lane] = TrajectoryResult.grounded(burnTime[lane]);
+                } else {
+                    results[base + lane] = new TrajectoryResult(true, landed[lane], apogee[lane], apogeeTime[lane],
+                            range[lane], liftoff[lane], burnTime[lane], landed[lane] ? impact[lane] : Double.NaN,
+                            maxQ[lane], maxQTime[lane], (long) steps[lane]);
+                }
+            }
+        }
+        return results;
+    }
+
+    // Scalar set-up of one lane (same as TrajectorySimulator). Returns its liftoff
+    // time, or NaN if it never lifts off; such lanes start out masked.
+    private double seedLane(int lane, double mass, double thrust) {
+        model.seed(mass, thrust, seedState);
+        double t = model.liftoffTime(mass);
+
+        burnTime[lane] = model.burnTime;
+        dragFactor[lane] = model.dragFactor;
+        wind[lane] = model.wind;
+        flying[lane] = !Double.isNaN(t);
+        clock[lane] = flying[lane] ? t : 0;
+        thrustNow[lane] = model.burning ? model.thrust : 0;
+        flowNow[lane] = model.burning ? model.massFlow : 0;
+
+        state[X + lane] = 0;
+        state[Y + lane] = 0;
+        state[VX + lane] = 0;
+        state[VY + lane] = 0;
+        state[MASS + lane] = flying[lane] ? mass - model.massFlow * t : mass;
+
+        apogee[lane] = 0;
+        apogeeTime[lane] = clock[lane];
+        maxQ[lane] = 0;
+        maxQTime[lane] = clock[lane];
+        steps[lane] = 0;
+        landed[lane] = false;
+        return t;
+    }
+
+    // Tail of the last block: an engine-less 1 kg lane that never lifts off
+    private double padLane(int lane) {
+        return seedLane(lane, 1.0, 0.0);
+    }
+
+    // ========================= LOCKSTEP RK4 =========================
+
+    private void flyBlock() {
+        double dt = config.timeStep;
+        double maxTime = config.maxFlightTime;
+
+        DoubleVector t = DoubleVector.fromArray(SPECIES, clock, 0);
+        VectorMask<Double> active = VectorMask.fromArray(SPECIES, flying, 0).and(t.compare(VectorOperators.LT, maxTime));
+        VectorMask<Double> burning = DoubleVector.fromArray(SPECIES, thrustNow, 0).compare(VectorOperators.GT, 0);
+        DoubleVector tBurn = DoubleVector.fromArray(SPECIES, burnTime, 0);
+        DoubleVector apo = DoubleVector.fromArray(SPECIES, apogee, 0);
+        DoubleVector apoT = DoubleVector.fromArray(SPECIES, apogeeTime, 0);
+        DoubleVector q = DoubleVector.fromArray(SPECIES, maxQ, 0);
+        DoubleVector qT = DoubleVector.fromArray(SPECIES, maxQTime, 0);
+        DoubleVector stepCount = DoubleVector.zero(SPECIES);
+        DoubleVector impactT = DoubleVector.zero(SPECIES);
+        DoubleVector impactX = DoubleVector.zero(SPECIES);
+        VectorMask<Double> down = SPECIES.maskAll(false);
+
+        while (active.anyTrue()) {
+            // Per-lane step: land exactly on that lane's burnout
+            VectorMask<Double> cutoff = burning.and(active).and(t.add(dt).compare(VectorOperators.GE, tBurn));
+            DoubleVector h = DoubleVector.broadcast(SPECIES, dt).blend(tBurn.sub(t), cutoff);
+            DoubleVector half = h.mul(0.5);
+
+            DoubleVector prevX = DoubleVector.fromArray(SPECIES, state, X);
+            DoubleVector prevY = DoubleVector.fromArray(SPECIES, state, Y);
+
+            derivatives(state, k1);
+            axpy(state, half, k1, stage);
+            derivatives(stage, k2);
+            axpy(state, half, k2, stage);
+            derivatives(stage, k3);
+            axpy(state, h, k3, stage);
+            derivatives(stage, k4);
+
+            // y += h/6 (k1 + 2 k2 + 2 k3 + k4), only on active lanes
+            DoubleVector sixth = h.div(6.0);
+            for (int c = 0; c < SIZE; c += LANES) {
+                DoubleVector sum = DoubleVector.fromArray(SPECIES, k1, c)
+                        .add(DoubleVector.fromArray(SPECIES, k2, c).mul(2.0))
+                        .add(DoubleVector.fromArray(SPECIES, k3, c).mul(2.0))
+                        .add(DoubleVector.fromArray(SPECIES, k4, c));
+                DoubleVector.fromArray(SPECIES, state, c).add(sixth.mul(sum), active).intoArray(state, c);
+            }
+
+            DoubleVector prevT = t;
+            t = t.add(h, active).blend(tBurn, cutoff);
+            stepCount = stepCount.add(1.0, active);
+
+            // Engines of the lanes that just burned out go quiet
+            if (cutoff.anyTrue()) {
+                burning = burning.andNot(cutoff);
+                DoubleVector.zero(SPECIES).intoArray(thrustNow, 0, cutoff);
+                DoubleVector.zero(SPECIES).intoArray(flowNow, 0, cutoff);
+            }
+
+            DoubleVector x = DoubleVector.fromArray(SPECIES, state, X);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, state, Y);
+
+            VectorMask<Double> higher = y.compare(VectorOperators.GT, apo).and(active);
+            apo = apo.blend(y, higher);
+            apoT = apoT.blend(t, higher);
+
+            DoubleVector qNow = dynamicPressure(state);
+            VectorMask<Double> harder = qNow.compare(VectorOperators.GT, q).and(active);
+            q = q.blend(qNow, harder);
+            qT = qT.blend(t, harder);
+
+            // Crossed the ground this step: interpolate the impact and mask the lane out
+            VectorMask<Double> hit = y.compare(VectorOperators.LT, 0).and(active);
+            if (hit.anyTrue()) {
+                DoubleVector f = prevY.div(prevY.sub(y));
+                impactT = impactT.blend(prevT.add(f.mul(t.sub(prevT))), hit);
+                impactX = impactX.blend(prevX.add(f.mul(x.sub(prevX))), hit);
+                down = down.or(hit);
+                active = active.andNot(hit);
+            }
+            active = active.and(t.compare(VectorOperators.LT, maxTime));
+        }
+
+        // Lanes still up at maxFlightTime report the distance covered so far
+        DoubleVector x = DoubleVector.fromArray(SPECIES, state, X);
+        impactX.blend(x, down.not()).intoArray(range, 0);
+        impactT.intoArray(impact, 0);
+        down.intoArray(landed, 0);
+        apo.intoArray(apogee, 0);
+        apoT.intoArray(apogeeTime, 0);
+        q.intoArray(maxQ, 0);
+        qT.intoArray(maxQTime, 0);
+        stepCount.intoArray(steps, 0);
+    }
+
+    // out = base + h * k, component by component
+    private static void axpy(double[] base, DoubleVector h, double[] k, double[] out) {
+        for (int c = 0; c < SIZE; c += LANES) {
+            DoubleVector.fromArray(SPECIES, base, c)
+                    .add(h.mul(DoubleVector.fromArray(SPECIES, k, c)))
+                    .intoArray(out, c);
+        }
+    }
+
+    // TrajectoryModel.derivatives for all lanes; thrust and mass flow are already
+    // zero on lanes that aren't burning
+    private void derivatives(double[] s, double[] out) {
+        DoubleVector vx = DoubleVector.fromArray(SPECIES, s, VX);
+        DoubleVector vy = DoubleVector.fromArray(SPECIES, s, VY);
+        DoubleVector m = DoubleVector.fromArray(SPECIES, s, MASS);
+        DoubleVector altitude = DoubleVector.fromArray(SPECIES, s, Y).max(0.0);
+
+        DoubleVector r = DoubleVector.broadcast(SPECIES, TrajectoryModel.EARTH_RADIUS)
+                .div(altitude.add(TrajectoryModel.EARTH_RADIUS));
+        DoubleVector ay = DoubleVector.broadcast(SPECIES, -TrajectoryModel.G0).mul(r).mul(r);
+
+        DoubleVector a = DoubleVector.fromArray(SPECIES, thrustNow, 0).div(m);
+        DoubleVector ax = a.mul(model.cosLaunch);
+        ay = ay.add(a.mul(model.sinLaunch));
+
+        DoubleVector ux = vx.sub(DoubleVector.fromArray(SPECIES, wind, 0));
+        DoubleVector k = DoubleVector.fromArray(SPECIES, dragFactor, 0).mul(density(altitude))
+                .mul(ux.mul(ux).add(vy.mul(vy)).sqrt()).div(m);
+        ax = ax.sub(k.mul(ux));
+        ay = ay.sub(k.mul(vy));
+
+        vx.intoArray(out, X);
+        vy.intoArray(out, Y);
+        ax.intoArray(out, VX);
+        ay.intoArray(out, VY);
+        DoubleVector.fromArray(SPECIES, flowNow, 0).neg().intoArray(out, MASS);
+    }
+
+    private DoubleVector dynamicPressure(double[] s) {
+        DoubleVector ux = DoubleVector.fromArray(SPECIES, s, VX).sub(DoubleVector.fromArray(SPECIES, wind, 0));
+        DoubleVector vy = DoubleVector.fromArray(SPECIES, s, VY);
+        DoubleVector rho = density(DoubleVector.fromArray(SPECIES, s, Y).max(0.0));
+        return rho.mul(0.5).mul(ux.mul(ux).add(vy.mul(vy)));
+    }
+
+    private static DoubleVector density(DoubleVector altitude) {
+        return altitude.neg().div(TrajectoryModel.SCALE_HEIGHT).lanewise(VectorOperators.EXP)
+                .mul(TrajectoryModel.SEA_LEVEL_DENSITY);
+    }
+}
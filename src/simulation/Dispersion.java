@@ -0,0 +1,45 @@
+package simulation;
+
+// One-sigma uncertainties for Monte Carlo runs (each drawn from a normal
+// distribution per run). Setters chain like LaunchConfig's, e.g.
+//   new Dispersion().thrustSigma(0.05).windSigma(8)
+public class Dispersion {
+
+    double massSigma = 0.01;        // fraction of liftoff mass
+    double thrustSigma = 0.02;      // fraction of thrust
+    double dragSigma = 0.10;        // fraction of the drag coefficient
+    double windSigma = 5.0;         // m/s along the ground track, around LaunchConfig's wind
+    double headingSigma = 0.5;      // degrees of launch azimuth error (gives the crossrange spread)
+
+    public Dispersion massSigma(double fraction) {
+        massSigma = nonNegative(fraction, "Mass sigma");
+        return this;
+    }
+
+    public Dispersion thrustSigma(double fraction) {
+        thrustSigma = nonNegative(fraction, "Thrust sigma");
+        return this;
+    }
+
+    public Dispersion dragSigma(double fraction) {
+        dragSigma = nonNegative(fraction, "Drag sigma");
+        return this;
+    }
+
+    public Dispersion windSigma(double metresPerSecond) {
+        windSigma = nonNegative(metresPerSecond, "Wind sigma");
+        return this;
+    }
+
+    public Dispersion headingSigma(double degrees) {
+        headingSigma = nonNegative(degrees, "Heading sigma");
+        return this;
+    }
+
+    private static double nonNegative(double value, String fieldName) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(fieldName + " must be zero or a positive number.");
+        }
+        return value;
+    }
+}
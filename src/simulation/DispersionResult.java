@@ -0,0 +1,196 @@
+package simulation;
+
+import model.Rocket;
+
+// Statistics of the Monte Carlo runs for one rocket, kept as streaming
+// summaries (no per-run data). Landing statistics cover the runs that landed
+// within LaunchConfig.maxFlightTime. Ground coordinates: downrange along the
+// nominal azimuth, crossrange to its left, in metres.
+public class DispersionResult {
+
+    // Sketch accuracy: quantiles within 0.5% of a real sample value
+    static final double SKETCH_ACCURACY = 0.005;
+
+    private final Rocket rocket;
+    private long runs;
+    private long grounded;
+    private long unlanded;
+
+    private final RunningStats downrange = new RunningStats();
+    private final RunningStats crossrange = new RunningStats();
+    private double coMoment;        // sum of (down - mean)(cross - mean), for the ellipse tilt
+    private final RunningStats apogee = new RunningStats();
+    private final RunningStats flightTime = new RunningStats();
+    private final RunningStats maxDynamicPressure = new RunningStats();
+
+    private final QuantileSketch rangeSketch = new QuantileSketch(SKETCH_ACCURACY);
+    private final QuantileSketch apogeeSketch = new QuantileSketch(SKETCH_ACCURACY);
+    private final QuantileSketch flightTimeSketch = new QuantileSketch(SKETCH_ACCURACY);
+
+    DispersionResult(Rocket rocket) {
+        this.rocket = rocket;
+    }
+
+    // ========================= ACCUMULATE =========================
+
+    void addGrounded() {
+        runs++;
+        grounded++;
+    }
+
+    void add(TrajectoryResult r, double headingError) {
+        runs++;
+        if (!r.hasLiftedOff()) {
+            grounded++;
+            return;
+        }
+        apogee.add(r.getApogee());
+        apogeeSketch.add(r.getApogee());
+        maxDynamicPressure.add(r.getMaxDynamicPressure());
+        if (!r.hasLanded()) {
+            unlanded++;
+            return;
+        }
+
+        double down = r.getRange() * Math.cos(headingError);
+        double cross = r.getRange() * Math.sin(headingError);
+        double dDown = (downrange.getCount() == 0) ? 0 : down - downrange.getMean();
+        downrange.add(down);
+        crossrange.add(cross);
+        coMoment += dDown * (cross - crossrange.getMean());
+
+        rangeSketch.add(r.getRange());
+        flightTime.add(r.getTimeOfFlight());
+        flightTimeSketch.add(r.getTimeOfFlight());
+    }
+
+    // Folds a later block of runs into this one
+    void merge(DispersionResult other) {
+        long n1 = downrange.getCount();
+        long n2 = other.downrange.getCount();
+        if (n1 > 0 && n2 > 0) {
+            double dDown = other.downrange.getMean() - downrange.getMean();
+            double dCross = other.crossrange.getMean() - crossrange.getMean();
+            coMoment += other.coMoment + dDown * dCross * ((double) n1 * n2 / (n1 + n2));
+        } else if (n2 > 0) {
+            coMoment = other.coMoment;
+        }
+
+        runs += other.runs;
+        grounded += other.grounded;
+        unlanded += other.unlanded;
+        downrange.merge(other.downrange);
+        crossrange.merge(other.crossrange);
+        apogee.merge(other.apogee);
+        flightTime.merge(other.flightTime);
+        maxDynamicPressure.merge(other.maxDynamicPressure);
+        rangeSketch.merge(other.rangeSketch);
+        apogeeSketch.merge(other.apogeeSketch);
+        flightTimeSketch.merge(other.flightTimeSketch);
+    }
+
+    // ========================= RESULTS =========================
+
+    public Rocket getRocket() {
+        return rocket;
+    }
+
+    public long getRunCount() {
+        return runs;
+    }
+
+    // Runs whose thrust never beat the weight
+    public long getGroundedCount() {
+        return grounded;
+    }
+
+    public long getLandedCount() {
+        return downrange.getCount();
+    }
+
+    // Runs still flying at LaunchConfig.maxFlightTime
+    public long getUnlandedCount() {
+        return unlanded;
+    }
+
+    public RunningStats getDownrange() {
+        return downrange;
+    }
+
+    public RunningStats getCrossrange() {
+        return crossrange;
+    }
+
+    public RunningStats getApogee() {
+        return apogee;
+    }
+
+    public RunningStats getTimeOfFlight() {
+        return flightTime;
+    }
+
+    public RunningStats getMaxDynamicPressure() {
+        return maxDynamicPressure;
+    }
+
+    // Ground distance from the pad to impact
+    public double getRangePercentile(double percent) {
+        return rangeSketch.quantile(percent / 100.0);
+    }
+
+    public double getApogeePercentile(double percent) {
+        return apogeeSketch.quantile(percent / 100.0);
+    }
+
+    public double getTimeOfFlightPercentile(double percent) {
+        return flightTimeSketch.quantile(percent / 100.0);
+    }
+
+    // ========================= LANDING ELLIPSE =========================
+    // From the sample covariance of (downrange, crossrange), assuming a 2-D normal
+    // spread: the ellipse around the mean impact point that holds the given share
+    // of landings (0.95 = 95%). Semi-axes in metres.
+
+    public double getEllipseSemiMajor(double probability) {
+        return ellipseScale(probability) * Math.sqrt(eigenvalue(+1));
+    }
+
+    public double getEllipseSemiMinor(double probability) {
+        return ellipseScale(probability) * Math.sqrt(eigenvalue(-1));
+    }
+
+    // Major axis direction, degrees from downrange towards crossrange
+    public double getEllipseAngle() {
+        double sxx = downrange.getVariance();
+        double syy = crossrange.getVariance();
+        return Math.toDegrees(0.5 * Math.atan2(2 * covariance(), sxx - syy));
+    }
+
+    private double covariance() {
+        long n = downrange.getCount();
+        return (n < 2) ? Double.NaN : coMoment / (n - 1);
+    }
+
+    private double eigenvalue(int sign) {
+        double sxx = downrange.getVariance();
+        double syy = crossrange.getVariance();
+        double sxy = covariance();
+        double half = 0.5 * (sxx - syy);
+        return Math.max(0, 0.5 * (sxx + syy) + sign * Math.sqrt(half * half + sxy * sxy));
+    }
+
+    // Chi-square quantile with 2 degrees of freedom, square-rooted
+    private static double ellipseScale(double probability) {
+        if (!(probability > 0 && probability < 1)) {
+            throw new IllegalArgumentException("Probability must be between 0 and 1.");
+        }
+        return Math.sqrt(-2 * Math.log(1 - probability));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d runs, %d landed, range %.0f +- %.0f m (p50 %.0f, p95 %.0f), 95%% ellipse %.0f x %.0f m",
+                rocket.getRocketName(), runs, getLandedCount(), downrange.getMean(), downrange.getStandardDeviation(),
+                getRangePercentile(50), getRangePercentile(95), getEllipseSemiMajor(0.95), getEllipseSemiMinor(0.95));
+    }
+}
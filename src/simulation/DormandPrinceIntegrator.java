@@ -0,0 +1,354 @@
+package simulation;
+
+// Adaptive Dormand-Prince 5(4) integrator (the RK45 of Hairer's DOPRI5):
+//   - local error estimated from the embedded 4th-order solution and kept below
+//     absTol + relTol * |y| per component (RMS norm); the step grows or shrinks
+//     with it, so smooth coasting takes long steps and sharp phases short ones
+//   - first-same-as-last: the last stage of a step is the first of the next
+//   - dense output: a 4th-order continuous extension over the last step, used to
+//     find events without extra steps (interpolate())
+//   - events: zero crossings of g(t, y), bracketed on each accepted step and
+//     located by the Illinois method on the dense output
+// All buffers are allocated once for the dimension; integrate() allocates
+// nothing. Not thread-safe: use one integrator per thread.
+public class DormandPrinceIntegrator {
+
+    // Something that happens when g(t, y) crosses zero
+    public interface Event {
+        double g(double t, double[] y);
+
+        // +1: only rising crossings count, -1: only falling, 0: both
+        int direction();
+
+        // Terminal events end integrate() at the event
+        boolean isTerminal();
+
+        // y is a scratch buffer: copy what you need
+        void occurred(double t, double[] y);
+    }
+
+    private static final double SAFETY = 0.9;
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 10.0;
+    private static final int MAX_ROOT_ITERATIONS = 100;
+
+    // Butcher tableau
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561, A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    private static final double A71 = 35.0 / 384, A73 = 500.0 / 1113, A74 = 125.0 / 192, A75 = -2187.0 / 6784,
+            A76 = 11.0 / 84;
+
+    // 5th-order minus 4th-order weights
+    private static final double E1 = 71.0 / 57600, E3 = -71.0 / 16695, E4 = 71.0 / 1920, E5 = -17253.0 / 339200,
+            E6 = 22.0 / 525, E7 = -1.0 / 40;
+
+    // Continuous extension (Hairer, Norsett & Wanner, DOPRI5 dense output)
+    private static final double D1 = -12715105075.0 / 11282082432.0, D3 = 87487479700.0 / 32700410799.0,
+            D4 = -10690763975.0 / 1880347072.0, D5 = 701980252875.0 / 199316789632.0,
+            D6 = -1453857185.0 / 822651844.0, D7 = 69997945.0 / 29380423.0;
+
+    private final int n;
+    private final double relTol;
+    private final double absTol;
+    private double maxStep = Double.POSITIVE_INFINITY;
+
+    private final double[] k1, k2, k3, k4, k5, k6, k7;
+    private final double[] stage;
+    private final double[] yNew;
+
+    // Dense output of the last accepted step [denseT, denseT + denseH]
+    private final double[] r1, r2, r3, r4, r5;
+    private double denseT;
+    private double denseH;
+
+    // Event bookkeeping (sized on first use for the event count)
+    private double[] gPrev = new double[0];
+    private double[] eventTime = new double[0];
+    private int[] order = new int[0];
+    private final double[] eventState;
+
+    private long steps;
+    private long rejected;
+    private long evaluations;
+
+    public DormandPrinceIntegrator(int dimension, double relTol, double absTol) {
+        if (!(relTol > 0) || !(absTol > 0)) {
+            throw new IllegalArgumentException("Tolerances must be positive numbers.");
+        }
+        this.n = dimension;
+        this.relTol = relTol;
+        this.absTol = absTol;
+
+        k1 = new double[n];
+        k2 = new double[n];
+        k3 = new double[n];
+        k4 = new double[n];
+        k5 = new double[n];
+        k6 = new double[n];
+        k7 = new double[n];
+        stage = new double[n];
+        yNew = new double[n];
+        r1 = new double[n];
+        r2 = new double[n];
+        r3 = new double[n];
+        r4 = new double[n];
+        r5 = new double[n];
+        eventState = new double[n];
+    }
+
+    public void setMaxStep(double maxStep) {
+        if (!(maxStep > 0)) throw new IllegalArgumentException("Maximum step must be a positive number.");
+        this.maxStep = maxStep;
+    }
+
+    // Accepted steps / rejected attempts / derivative evaluations since the last reset
+    public long getStepCount() {
+        return steps;
+    }
+
+    public long getRejectedCount() {
+        return rejected;
+    }
+
+    public long getEvaluationCount() {
+        return evaluations;
+    }
+
+    public void resetCounters() {
+        steps = 0;
+        rejected = 0;
+        evaluations = 0;
+    }
+
+    // ========================= INTEGRATE =========================
+
+    // Advances y in place from t to tEnd, or to the first terminal event, and
+    // returns the time reached. Events are checked against the state at t too,
+    // so one that is exactly zero there does not fire until it crosses.
+    public double integrate(OdeSystem system, double t, double[] y, double tEnd, Event[] events) {
+        if (!(tEnd > t)) return t;
+        prepareEvents(events, t, y);
+
+        eval(system, t, y, k1);
+        double h = Math.min(initialStep(system, t, y, tEnd - t), maxStep);
+
+        while (t < tEnd) {
+            boolean last = t + h >= tEnd;
+            if (last) h = tEnd - t;
+
+            double err = attempt(system, t, y, h);
+            if (!(err <= 1.0)) {
+                // Rejected (NaN counts as too large): shrink and retry
+                rejected++;
+                h *= Math.max(MIN_FACTOR, SAFETY * Math.pow(err, -0.2));
+                if (!(t + h > t)) {
+                    throw new IllegalStateException("Step size underflow at t = " + t);
+                }
+                continue;
+            }
+
+            steps++;
+            double tNew = last ? tEnd : t + h;
+            buildDenseOutput(y, h, t);
+
+            if (events != null && events.length > 0) {
+                double stop = handleEvents(events, tNew);
+                if (!Double.isNaN(stop)) {
+                    interpolate(stop, y);
+                    return stop;
+                }
+            }
+
+            // Accept: FSAL, the last stage is the next step's first
+            System.arraycopy(yNew, 0, y, 0, n);
+            System.arraycopy(k7, 0, k1, 0, n);
+            t = tNew;
+
+            double factor = (err == 0) ? MAX_FACTOR : SAFETY * Math.pow(err, -0.2);
+            h = Math.min(h * Math.min(MAX_FACTOR, Math.max(MIN_FACTOR, factor)), maxStep);
+        }
+        return t;
+    }
+
+    // One trial step from (t, y) with size h into yNew / k2..k7; returns the scaled error norm
+    private double attempt(OdeSystem system, double t, double[] y, double h) {
+        for (int i = 0; i < n; i++) stage[i] = y[i] + h * A21 * k1[i];
+        eval(system, t + C2 * h, stage, k2);
+
+        for (int i = 0; i < n; i++) stage[i] = y[i] + h * (A31 * k1[i] + A32 * k2[i]);
+        eval(system, t + C3 * h, stage, k3);
+
+        for (int i = 0; i < n; i++) stage[i] = y[i] + h * (A41 * k1[i] + A42 * k2[i] + A43 * k3[i]);
+        eval(system, t + C4 * h, stage, k4);
+
+        for (int i = 0; i < n; i++) {
+            stage[i] = y[i] + h * (A51 * k1[i] + A52 * k2[i] + A53 * k3[i] + A54 * k4[i]);
+        }
+        eval(system, t + C5 * h, stage, k5);
+
+        for (int i = 0; i < n; i++) {
+            stage[i] = y[i] + h * (A61 * k1[i] + A62 * k2[i] + A63 * k3[i] + A64 * k4[i] + A65 * k5[i]);
+        }
+        eval(system, t + h, stage, k6);
+
+        for (int i = 0; i < n; i++) {
+            yNew[i] = y[i] + h * (A71 * k1[i] + A73 * k3[i] + A74 * k4[i] + A75 * k5[i] + A76 * k6[i]);
+        }
+        eval(system, t + h, yNew, k7);
+
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            double e = h * (E1 * k1[i] + E3 * k3[i] + E4 * k4[i] + E5 * k5[i] + E6 * k6[i] + E7 * k7[i]);
+            double scale = absTol + relTol * Math.max(Math.abs(y[i]), Math.abs(yNew[i]));
+            double ratio = e / scale;
+            sum += ratio * ratio;
+        }
+        return Math.sqrt(sum / n);
+    }
+
+    // Starting step from the size of y, f and the change in f (Hairer's hinit).
+    // Uses yNew and k2 as scratch before the first attempt.
+    private double initialStep(OdeSystem system, double t, double[] y, double span) {
+        double d0 = 0;
+        double d1 = 0;
+        for (int i = 0; i < n; i++) {
+            double scale = absTol + relTol * Math.abs(y[i]);
+            d0 += (y[i] / scale) * (y[i] / scale);
+            d1 += (k1[i] / scale) * (k1[i] / scale);
+        }
+        d0 = Math.sqrt(d0 / n);
+        d1 = Math.sqrt(d1 / n);
+        double h0 = (d0 < 1e-5 || d1 < 1e-5) ? 1e-6 : 0.01 * d0 / d1;
+        h0 = Math.min(h0, span);
+
+        for (int i = 0; i < n; i++) yNew[i] = y[i] + h0 * k1[i];
+        eval(system, t + h0, yNew, k2);
+
+        double d2 = 0;
+        for (int i = 0; i < n; i++) {
+            double scale = absTol + relTol * Math.abs(y[i]);
+            double diff = (k2[i] - k1[i]) / scale;
+            d2 += diff * diff;
+        }
+        d2 = Math.sqrt(d2 / n) / h0;
+
+        double big = Math.max(d1, d2);
+        double h1 = (big <= 1e-15) ? Math.max(1e-6, h0 * 1e-3) : Math.pow(0.01 / big, 0.2);
+        return Math.min(Math.min(100 * h0, h1), span);
+    }
+
+    private void eval(OdeSystem system, double t, double[] y, double[] dydt) {
+        system.derivatives(t, y, dydt);
+        evaluations++;
+    }
+
+    // ========================= DENSE OUTPUT =========================
+
+    private void buildDenseOutput(double[] y, double h, double t) {
+        for (int i = 0; i < n; i++) {
+            double diff = yNew[i] - y[i];
+            double bspl = h * k1[i] - diff;
+            r1[i] = y[i];
+            r2[i] = diff;
+            r3[i] = bspl;
+            r4[i] = diff - h * k7[i] - bspl;
+            r5[i] = h * (D1 * k1[i] + D3 * k3[i] + D4 * k4[i] + D5 * k5[i] + D6 * k6[i] + D7 * k7[i]);
+        }
+        denseT = t;
+        denseH = h;
+    }
+
+    // State at time t within the last accepted step, 4th-order accurate
+    public void interpolate(double t, double[] out) {
+        double theta = (t - denseT) / denseH;
+        double theta1 = 1.0 - theta;
+        for (int i = 0; i < n; i++) {
+            out[i] = r1[i] + theta * (r2[i] + theta1 * (r3[i] + theta * (r4[i] + theta1 * r5[i])));
+        }
+    }
+
+    // ========================= EVENTS =========================
+
+    private void prepareEvents(Event[] events, double t, double[] y) {
+        if (events == null) return;
+        if (gPrev.length < events.length) {
+            gPrev = new double[events.length];
+            eventTime = new double[events.length];
+            order = new int[events.length];
+        }
+        for (int e = 0; e < events.length; e++) {
+            gPrev[e] = events[e].g(t, y);
+        }
+    }
+
+    // Locates the crossings in [denseT, tNew] and fires them in time order.
+    // Returns the time of the first terminal one, or NaN to keep going.
+    private double handleEvents(Event[] events, double tNew) {
+        int found = 0;
+        for (int e = 0; e < events.length; e++) {
+            double g = events[e].g(tNew, yNew);
+            if (crosses(events[e].direction(), gPrev[e], g)) {
+                eventTime[e] = locate(events[e], denseT, gPrev[e], tNew, g);
+                // Insertion by time (a handful of events at most)
+                int pos = found++;
+                while (pos > 0 && eventTime[order[pos - 1]] > eventTime[e]) {
+                    order[pos] = order[pos - 1];
+                    pos--;
+                }
+                order[pos] = e;
+            }
+            gPrev[e] = g;
+        }
+
+        for (int i = 0; i < found; i++) {
+            Event event = events[order[i]];
+            double te = eventTime[order[i]];
+            interpolate(te, eventState);
+            event.occurred(te, eventState);
+            if (event.isTerminal()) return te;
+        }
+        return Double.NaN;
+    }
+
+    private static boolean crosses(int direction, double before, double after) {
+        boolean rising = before < 0 && after >= 0;
+        boolean falling = before > 0 && after <= 0;
+        return (direction > 0) ? rising : (direction < 0) ? falling : rising || falling;
+    }
+
+    // Illinois (modified regula falsi) on the dense output. Returns the end of the
+    // final bracket that is already past the crossing, so restarting there can't
+    // see the same crossing again.
+    private double locate(Event event, double a, double ga, double b, double gb) {
+        double tol = 1e-12 * Math.max(1.0, Math.abs(b)) + 1e-12;
+        int side = 0;
+
+        for (int it = 0; it < MAX_ROOT_ITERATIONS && b - a > tol; it++) {
+            double c = (a * gb - b * ga) / (gb - ga);
+            if (!(c > a && c < b)) c = 0.5 * (a + b);   // guard against a flat or degenerate secant
+
+            interpolate(c, eventState);
+            double gc = event.g(c, eventState);
+
+            if ((gc > 0) == (gb > 0) && gc != 0) {
+                // Root in [a, c]
+                b = c;
+                gb = gc;
+                if (side == 1) ga *= 0.5;
+                side = 1;
+            } else {
+                a = c;
+                ga = gc;
+                if (side == -1) gb *= 0.5;
+                side = -1;
+                if (gc == 0) b = c;
+            }
+        }
+        return b;
+    }
+}
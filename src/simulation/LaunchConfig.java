@@ -0,0 +1,97 @@
+package simulation;
+
+// Vehicle and run settings the inventory doesn't carry (a Rocket only has mass
+// and thrust). Setters chain, e.g.
+//   new LaunchConfig().specificImpulse(280).launchAngle(80).timeStep(0.02)
+// Unit scales: the inventory's thrust is in kN and its mass figures are
+// whole-vehicle liftoff masses in tonnes (Falcon 9 = 549), whatever the
+// table header says; change massUnit/thrustUnit if your data differs.
+public class LaunchConfig {
+
+    double massUnit = 1000.0;           // kg per inventory mass unit
+    double thrustUnit = 1000.0;         // N per inventory thrust unit
+    double propellantFraction = 0.9;    // of liftoff mass
+    double specificImpulse = 300.0;     // s
+    double launchAngle = 85.0;          // degrees above the horizon
+    double dragCoefficient = 0.3;
+    double referenceArea = 10.0;        // m^2
+    double wind = 0.0;                  // m/s along the ground track, + = tailwind
+    double timeStep = 0.05;             // s (fixed-step RK4)
+    double relTolerance = 1e-8;         // adaptive integrator, per component
+    double absTolerance = 1e-6;
+    double maxFlightTime = 20_000.0;    // s after ignition; the run stops there
+
+    public LaunchConfig massUnit(double kilograms) {
+        massUnit = positive(kilograms, "Mass unit");
+        return this;
+    }
+
+    public LaunchConfig thrustUnit(double newtons) {
+        thrustUnit = positive(newtons, "Thrust unit");
+        return this;
+    }
+
+    public LaunchConfig propellantFraction(double fraction) {
+        if (!(fraction >= 0 && fraction < 1)) {
+            throw new IllegalArgumentException("Propellant fraction must be at least 0 and below 1.");
+        }
+        propellantFraction = fraction;
+        return this;
+    }
+
+    public LaunchConfig specificImpulse(double seconds) {
+        specificImpulse = positive(seconds, "Specific impulse");
+        return this;
+    }
+
+    public LaunchConfig launchAngle(double degrees) {
+        if (!(degrees > 0 && degrees <= 90)) {
+            throw new IllegalArgumentException("Launch angle must be above 0 and at most 90 degrees.");
+        }
+        launchAngle = degrees;
+        return this;
+    }
+
+    public LaunchConfig dragCoefficient(double cd) {
+        if (!(cd >= 0)) throw new IllegalArgumentException("Drag coefficient cannot be negative.");
+        dragCoefficient = cd;
+        return this;
+    }
+
+    public LaunchConfig referenceArea(double squareMetres) {
+        if (!(squareMetres >= 0)) throw new IllegalArgumentException("Reference area cannot be negative.");
+        referenceArea = squareMetres;
+        return this;
+    }
+
+    public LaunchConfig wind(double metresPerSecond) {
+        if (!Double.isFinite(metresPerSecond)) throw new IllegalArgumentException("Wind must be a number.");
+        wind = metresPerSecond;
+        return this;
+    }
+
+    public LaunchConfig timeStep(double seconds) {
+        timeStep = positive(seconds, "Time step");
+        return this;
+    }
+
+    // Local error bound of the adaptive integrator: absolute + relative * |value|
+    public LaunchConfig tolerance(double relative, double absolute) {
+        relTolerance = positive(relative, "Relative tolerance");
+        absTolerance = positive(absolute, "Absolute tolerance");
+        return this;
+    }
+
+    public LaunchConfig maxFlightTime(double seconds) {
+        maxFlightTime = positive(seconds, "Maximum flight time");
+        return this;
+    }
+
+    // Written as !(v > 0) so NaN is rejected too
+    private static double positive(double value, String fieldName) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(fieldName + " must be a positive number.");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,121 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import model.Rocket;
+
+// Monte Carlo dispersion runs: each run perturbs mass, thrust, drag, wind and
+// launch azimuth (see Dispersion), flies the rocket with the adaptive
+// simulator and folds the outcome into streaming statistics. Nothing per run is
+// kept, so memory doesn't grow with the run count.
+//
+// Work is split on a fork-join pool by halving the run range down to LEAF_RUNS.
+// Each split hands the right half rng.split(), so every block of runs gets its
+// own random stream, and partial results are merged left + right. The tree is
+// fixed by the run count alone, which makes the result identical for a given
+// seed however many threads execute it.
+public class MonteCarloRunner {
+
+    static final int LEAF_RUNS = 32;
+
+    private final LaunchConfig config;
+    private final Dispersion dispersion;
+    private final ForkJoinPool pool;
+
+    public MonteCarloRunner(LaunchConfig config, Dispersion dispersion) {
+        this(config, dispersion, ForkJoinPool.commonPool());
+    }
+
+    public MonteCarloRunner(LaunchConfig config, Dispersion dispersion, ForkJoinPool pool) {
+        this.config = config;
+        this.dispersion = dispersion;
+        this.pool = pool;
+    }
+
+    public DispersionResult run(Rocket rocket, int runs, long seed) {
+        return runFleet(List.of(rocket), runs, seed).get(0);
+    }
+
+    // One result per rocket, in list order (e.g. inventory.getAllRockets()).
+    // Every rocket's runs share the pool at once.
+    public List<DispersionResult> runFleet(List<Rocket> rockets, int runsPerRocket, long seed) {
+        if (runsPerRocket < 1) throw new IllegalArgumentException("Runs must be at least 1.");
+
+        // One stream per rocket, split off in list order
+        SplittableRandom root = new SplittableRandom(seed);
+        List<RunBlock> blocks = new ArrayList<>(rockets.size());
+        for (Rocket rocket : rockets) {
+            blocks.add(new RunBlock(rocket, 0, runsPerRocket, root.split()));
+        }
+
+        return pool.invoke(new RecursiveTask<List<DispersionResult>>() {
+            @Override
+            protected List<DispersionResult> compute() {
+                invokeAll(blocks);
+                List<DispersionResult> results = new ArrayList<>(blocks.size());
+                for (RunBlock block : blocks) {
+                    results.add(block.join());
+                }
+                return results;
+            }
+        });
+    }
+
+    // Serializable only through ForkJoinTask; never serialized
+    @SuppressWarnings("serial")
+    private class RunBlock extends RecursiveTask<DispersionResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final Rocket rocket;
+        private final int from;
+        private final int to;
+        private final SplittableRandom rng;
+
+        RunBlock(Rocket rocket, int from, int to, SplittableRandom rng) {
+            this.rocket = rocket;
+            this.from = from;
+            this.to = to;
+            this.rng = rng;
+        }
+
+        @Override
+        protected DispersionResult compute() {
+            if (to - from <= LEAF_RUNS) {
+                return simulateRuns();
+            }
+            int mid = (from + to) >>> 1;
+            RunBlock right = new RunBlock(rocket, mid, to, rng.split());
+            RunBlock left = new RunBlock(rocket, from, mid, rng);
+            right.fork();
+            DispersionResult result = left.compute();
+            result.merge(right.join());
+            return result;
+        }
+
+        private DispersionResult simulateRuns() {
+            AdaptiveTrajectorySimulator simulator = new AdaptiveTrajectorySimulator(config);
+            DispersionResult result = new DispersionResult(rocket);
+            double mass = rocket.getMass() * config.massUnit;
+            double thrust = rocket.getThrust() * config.thrustUnit;
+
+            for (int i = from; i < to; i++) {
+                // Always draw all five, so whether a run flies never shifts the draws of later runs
+                double m = mass * (1 + dispersion.massSigma * rng.nextGaussian());
+                double f = thrust * (1 + dispersion.thrustSigma * rng.nextGaussian());
+                double drag = Math.max(0, 1 + dispersion.dragSigma * rng.nextGaussian());
+                double wind = config.wind + dispersion.windSigma * rng.nextGaussian();
+                double heading = Math.toRadians(dispersion.headingSigma * rng.nextGaussian());
+
+                if (!(m > 0)) {
+                    result.addGrounded();
+                    continue;
+                }
+                result.add(simulator.simulate(m, Math.max(0, f), drag, wind), heading);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package simulation;
+
+// A system of first-order ODEs dy/dt = f(t, y) over a flat state vector.
+// derivatives() must write every entry of dydt and must not allocate: the
+// integrators call it several times per step.
+public interface OdeSystem {
+
+    int dimension();
+
+    void derivatives(double t, double[] y, double[] dydt);
+}
@@ -0,0 +1,341 @@
+package simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.zip.CRC32;
+import model.Rocket;
+
+// Design-space sweep: flies every (mass, thrust) point of a grid with the
+// adaptive simulator and streams the outcomes to a columnar result file.
+// Mass and thrust are in inventory units (as on a Rocket), e.g.
+//   new ParameterSweep(config).around(rocket, 0.5, 101).run(Path.of("sweep.rksw"))
+//
+// The grid is processed in row groups of GROUP_CELLS cells (mass-major: all
+// thrusts of the first mass, then the next). Each group is split across the
+// fork-join pool down to LEAF_CELLS cells, idle workers steal the rest, and
+// the finished group is written before the next one starts, so memory stays at
+// one group however big the grid is.
+//
+// Infeasible points are cut off before integration: per mass row, the first
+// thrust with thrust-to-weight >= minThrustToWeight is found once by binary
+// search (thrusts are ascending), and every cell below it is written as PRUNED
+// without touching the integrator.
+//
+// File (big-endian):
+//   magic "RKSW", version (short), mass count (int) + values (double[]),
+//   thrust count (int) + values (double[])
+//   row groups: cell count (int), then columns over those cells:
+//     status byte[], apogee, range, burnout time, time of flight, max-Q (double[] each)
+//   footer: per group offset (long), cells (int); group count (int), total cells (long),
+//           CRC32 of the footer so far (int)
+//   footer length (int), magic "RKSW"
+// A cell's grid point follows from its index: mass = index / thrusts, thrust = index % thrusts.
+public class ParameterSweep {
+
+    public static final byte FLOWN = 0;
+    public static final byte PRUNED = 1;         // below minThrustToWeight at ignition; not integrated
+    public static final byte GROUNDED = 2;       // never lifted off before burnout
+    public static final byte NOT_LANDED = 3;     // still flying at LaunchConfig.maxFlightTime
+
+    static final int MAGIC = 0x524B5357;         // "RKSW"
+    static final short VERSION = 1;
+    static final int GROUP_CELLS = 8192;
+    static final int LEAF_CELLS = 16;
+
+    private final LaunchConfig config;
+    private final ForkJoinPool pool;
+
+    private double[] masses;
+    private double[] thrusts;
+    private double minThrustToWeight = 1.0;
+
+    public ParameterSweep(LaunchConfig config) {
+        this(config, ForkJoinPool.commonPool());
+    }
+
+    public ParameterSweep(LaunchConfig config, ForkJoinPool pool) {
+        this.config = config;
+        this.pool = pool;
+    }
+
+    // ========================= GRID =========================
+
+    public ParameterSweep massRange(double min, double max, int steps) {
+        if (!(min > 0)) throw new IllegalArgumentException("Mass range must start above 0.");
+        masses = grid(min, max, steps, "Mass");
+        return this;
+    }
+
+    public ParameterSweep thrustRange(double min, double max, int steps) {
+        if (!(min >= 0)) throw new IllegalArgumentException("Thrust range cannot start below 0.");
+        thrusts = grid(min, max, steps, "Thrust");
+        return this;
+    }
+
+    // Mass and thrust each from (1 - spread) to (1 + spread) times the rocket's
+    public ParameterSweep around(Rocket rocket, double spread, int steps) {
+        if (!(spread >= 0 && spread < 1)) throw new IllegalArgumentException("Spread must be at least 0 and below 1.");
+        massRange(rocket.getMass() * (1 - spread), rocket.getMass() * (1 + spread), steps);
+        thrustRange(rocket.getThrust() * (1 - spread), rocket.getThrust() * (1 + spread), steps);
+        return this;
+    }
+
+    public ParameterSweep minThrustToWeight(double ratio) {
+        if (!(ratio >= 0) || Double.isInfinite(ratio)) {
+            throw new IllegalArgumentException("Thrust-to-weight cut-off must be zero or a positive number.");
+        }
+        minThrustToWeight = ratio;
+        return this;
+    }
+
+    private static double[] grid(double min, double max, int steps, String fieldName) {
+        if (steps < 1) throw new IllegalArgumentException(fieldName + " steps must be at least 1.");
+        if (!(max >= min) || Double.isInfinite(max)) {
+            throw new IllegalArgumentException(fieldName + " range must end at or above its start.");
+        }
+        double[] values = new double[steps];
+        for (int i = 0; i < steps; i++) {
+            values[i] = (steps == 1) ? min : min + (max - min) * i / (steps - 1);
+        }
+        return values;
+    }
+
+    // ========================= RUN =========================
+
+    public static class Summary {
+        private final long cells;
+        private final long[] statusCounts;
+        private final double bestApogee;
+        private final double bestApogeeMass;
+        private final double bestApogeeThrust;
+
+        Summary(long cells, long[] statusCounts, double bestApogee, double bestApogeeMass, double bestApogeeThrust) {
+            this.cells = cells;
+            this.statusCounts = statusCounts;
+            this.bestApogee = bestApogee;
+            this.bestApogeeMass = bestApogeeMass;
+            this.bestApogeeThrust = bestApogeeThrust;
+        }
+
+        public long getCellCount() {
+            return cells;
+        }
+
+        public long getFlownCount() {
+            return statusCounts[FLOWN];
+        }
+
+        public long getPrunedCount() {
+            return statusCounts[PRUNED];
+        }
+
+        public long getGroundedCount() {
+            return statusCounts[GROUNDED];
+        }
+
+        public long getNotLandedCount() {
+            return statusCounts[NOT_LANDED];
+        }
+
+        // NaN when nothing flew
+        public double getBestApogee() {
+            return bestApogee;
+        }
+
+        public double getBestApogeeMass() {
+            return bestApogeeMass;
+        }
+
+        public double getBestApogeeThrust() {
+            return bestApogeeThrust;
+        }
+    }
+
+    // Written under <target>.part and renamed when complete
+    public Summary run(Path target) throws IOException {
+        if (masses == null || thrusts == null) {
+            throw new IllegalStateException("Set both the mass and the thrust range before running a sweep.");
+        }
+        long cells = (long) masses.length * thrusts.length;
+        int[] firstFeasible = firstFeasibleThrusts();
+
+        Group group = new Group((int) Math.min(GROUP_CELLS, cells));
+        long[] statusCounts = new long[4];
+        double bestApogee = Double.NaN;
+        double bestMass = Double.NaN;
+        double bestThrust = Double.NaN;
+
+        Path part = Path.of(target + ".part");
+        boolean done = false;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(part), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeValues(out, masses);
+            writeValues(out, thrusts);
+            long offset = 2 + 4 + 4 + 4 + 8L * (masses.length + thrusts.length);
+
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            DataOutputStream index = new DataOutputStream(indexBytes);
+            int groups = 0;
+
+            for (long start = 0; start < cells; start += GROUP_CELLS) {
+                int size = (int) Math.min(GROUP_CELLS, cells - start);
+                pool.invoke(new SweepTask(group, start, 0, size, firstFeasible));
+
+                for (int i = 0; i < size; i++) {
+                    statusCounts[group.status[i]]++;
+                    if (group.status[i] != PRUNED && !(group.apogee[i] <= bestApogee)) {
+                        bestApogee = group.apogee[i];
+                        bestMass = masses[(int) ((start + i) / thrusts.length)];
+                        bestThrust = thrusts[(int) ((start + i) % thrusts.length)];
+                    }
+                }
+
+                index.writeLong(offset);
+                index.writeInt(size);
+                groups++;
+                offset += group.write(out, size);
+            }
+
+            index.writeInt(groups);
+            index.writeLong(cells);
+            CRC32 crc = new CRC32();
+            crc.update(indexBytes.toByteArray());
+            index.writeInt((int) crc.getValue());
+
+            byte[] footer = indexBytes.toByteArray();
+            out.write(footer);
+            out.writeInt(footer.length);
+            out.writeInt(MAGIC);
+            done = true;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(part);
+            }
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+
+        return new Summary(cells, statusCounts, bestApogee, bestMass, bestThrust);
+    }
+
+    // Per mass row: index of the first thrust that clears the cut-off (thrusts.length if none)
+    private int[] firstFeasibleThrusts() {
+        int[] first = new int[masses.length];
+        for (int m = 0; m < masses.length; m++) {
+            double needed = minThrustToWeight * masses[m] * config.massUnit * TrajectoryModel.G0 / config.thrustUnit;
+            int lo = 0;
+            int hi = thrusts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (thrusts[mid] >= needed) hi = mid;
+                else lo = mid + 1;
+            }
+            first[m] = lo;
+        }
+        return first;
+    }
+
+    private static void writeValues(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values.length);
+        for (double v : values) out.writeDouble(v);
+    }
+
+    // ========================= ONE ROW GROUP =========================
+
+    // Result columns for one group; reused for every group of the sweep
+    private static class Group {
+        final byte[] status;
+        final double[] apogee;
+        final double[] range;
+        final double[] burnout;
+        final double[] flightTime;
+        final double[] maxQ;
+
+        Group(int cells) {
+            status = new byte[cells];
+            apogee = new double[cells];
+            range = new double[cells];
+            burnout = new double[cells];
+            flightTime = new double[cells];
+            maxQ = new double[cells];
+        }
+
+        // Returns the bytes written
+        long write(DataOutputStream out, int size) throws IOException {
+            out.writeInt(size);
+            out.write(status, 0, size);
+            double[][] columns = {apogee, range, burnout, flightTime, maxQ};
+            for (double[] column : columns) {
+                for (int i = 0; i < size; i++) out.writeDouble(column[i]);
+            }
+            return 4 + size + 8L * columns.length * size;
+        }
+    }
+
+    // Serializable only through ForkJoinTask; never serialized
+    @SuppressWarnings("serial")
+    private class SweepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Group group;
+        private final long groupStart;      // grid index of the group's first cell
+        private final int from;             // cells [from, to) of the group
+        private final int to;
+        private final int[] firstFeasible;
+
+        SweepTask(Group group, long groupStart, int from, int to, int[] firstFeasible) {
+            this.group = group;
+            this.groupStart = groupStart;
+            this.from = from;
+            this.to = to;
+            this.firstFeasible = firstFeasible;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_CELLS) {
+                evaluate();
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(group, groupStart, from, mid, firstFeasible),
+                    new SweepTask(group, groupStart, mid, to, firstFeasible));
+        }
+
+        private void evaluate() {
+            AdaptiveTrajectorySimulator simulator = null;   // only made if a cell is feasible
+
+            for (int i = from; i < to; i++) {
+                long cell = groupStart + i;
+                int m = (int) (cell / thrusts.length);
+                int t = (int) (cell % thrusts.length);
+
+                if (t < firstFeasible[m]) {
+                    group.status[i] = PRUNED;
+                    group.apogee[i] = Double.NaN;
+                    group.range[i] = Double.NaN;
+                    group.burnout[i] = Double.NaN;
+                    group.flightTime[i] = Double.NaN;
+                    group.maxQ[i] = Double.NaN;
+                    continue;
+                }
+
+                if (simulator == null) simulator = new AdaptiveTrajectorySimulator(config);
+                TrajectoryResult r = simulator.simulate(masses[m] * config.massUnit, thrusts[t] * config.thrustUnit);
+                group.status[i] = !r.hasLiftedOff() ? GROUNDED : !r.hasLanded() ? NOT_LANDED : FLOWN;
+                group.apogee[i] = r.getApogee();
+                group.range[i] = r.getRange();
+                group.burnout[i] = r.getBurnoutTime();
+                group.flightTime[i] = r.getTimeOfFlight();
+                group.maxQ[i] = r.getMaxDynamicPressure();
+            }
+        }
+    }
+}
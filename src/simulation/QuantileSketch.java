@@ -0,0 +1,125 @@
+package simulation;
+
+// Mergeable quantile sketch with a relative-accuracy guarantee (log-spaced
+// buckets, as in DDSketch): every quantile it returns is within
+// relativeAccuracy of a value that really is at that rank. Memory grows with
+// log(max / min) - about 1,200 buckets span 1 mm to 100,000 km at 1% - never
+// with the number of values, and merging just adds bucket counts, so the
+// result doesn't depend on how the values were split up.
+public class QuantileSketch {
+
+    // Values closer to zero than this share one bucket
+    private static final double MIN_MAGNITUDE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1.");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double x) {
+        if (Double.isNaN(x)) return;
+        if (x > MIN_MAGNITUDE) {
+            positive.increment(index(x), 1);
+        } else if (x < -MIN_MAGNITUDE) {
+            negative.increment(index(-x), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Only sketches with the same accuracy can be merged.");
+        }
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // q in [0, 1]; NaN when empty
+    public double quantile(double q) {
+        if (q < 0 || q > 1) throw new IllegalArgumentException("Quantile must be between 0 and 1.");
+        if (count == 0) return Double.NaN;
+
+        long rank = (long) Math.floor(q * (count - 1));
+
+        // Most negative first: highest negative bucket down to the lowest
+        long seen = 0;
+        for (int i = negative.counts.length - 1; i >= 0; i--) {
+            seen += negative.counts[i];
+            if (seen > rank) return -value(i + negative.offset);
+        }
+        seen += zeroCount;
+        if (seen > rank) return 0;
+        for (int i = 0; i < positive.counts.length; i++) {
+            seen += positive.counts[i];
+            if (seen > rank) return value(i + positive.offset);
+        }
+        return value(positive.offset + positive.counts.length - 1);
+    }
+
+    // Bucket i holds magnitudes in (gamma^(i-1), gamma^i]
+    private int index(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    // Midpoint in relative terms, so the error is at most relativeAccuracy either way
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    // Dense counts for a contiguous range of bucket indexes, grown as needed
+    private static class Buckets {
+        long[] counts = new long[0];
+        int offset;
+
+        void increment(int index, long by) {
+            if (counts.length == 0) {
+                counts = new long[16];
+                offset = index - 8;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += by;
+        }
+
+        private void grow(int index) {
+            int lo = Math.min(offset, index);
+            int hi = Math.max(offset + counts.length - 1, index);
+            int size = Math.max(hi - lo + 1, counts.length * 2);
+            // Leave headroom on the side that grew
+            int newOffset = (index < offset) ? hi - size + 1 : lo;
+            long[] grown = new long[size];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+
+        void addAll(Buckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    increment(i + other.offset, other.counts[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package simulation;
+
+// Classic fixed-step fourth-order Runge-Kutta. All stage buffers are allocated
+// once for the system's dimension and reused, so step() allocates nothing.
+// Not thread-safe: use one integrator per thread.
+public class Rk4Integrator {
+
+    private final int n;
+    private final double[] k1;
+    private final double[] k2;
+    private final double[] k3;
+    private final double[] k4;
+    private final double[] stage;
+
+    public Rk4Integrator(int dimension) {
+        this.n = dimension;
+        this.k1 = new double[dimension];
+        this.k2 = new double[dimension];
+        this.k3 = new double[dimension];
+        this.k4 = new double[dimension];
+        this.stage = new double[dimension];
+    }
+
+    // Advances y in place from t to t + h
+    public void step(OdeSystem system, double t, double[] y, double h) {
+        double half = 0.5 * h;
+
+        system.derivatives(t, y, k1);
+        for (int i = 0; i < n; i++) stage[i] = y[i] + half * k1[i];
+
+        system.derivatives(t + half, stage, k2);
+        for (int i = 0; i < n; i++) stage[i] = y[i] + half * k2[i];
+
+        system.derivatives(t + half, stage, k3);
+        for (int i = 0; i < n; i++) stage[i] = y[i] + h * k3[i];
+
+        system.derivatives(t + h, stage, k4);
+        double sixth = h / 6.0;
+        for (int i = 0; i < n; i++) {
+            y[i] += sixth * (k1[i] + 2.0 * k2[i] + 2.0 * k3[i] + k4[i]);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package simulation;
+
+// Point-mass ascent over a flat, non-rotating Earth in the vertical plane.
+// State vector: [x (downrange, m), y (altitude, m), vx, vy (m/s), mass (kg)].
+// Forces: thrust at constant mass flow along a fixed attitude (the launch
+// angle), inverse-square gravity, and drag in an exponential atmosphere acting
+// on the airspeed (velocity minus a steady along-track wind). A fixed
+// attitude keeps the vertical thrust above the weight for the whole burn once
+// the vehicle has lifted off; a gravity turn from liftoff pitches low-T/W
+// vehicles straight into the ground. The engine is switched on and
+// off by the integrator loop (burning), not by t, so a step that ends exactly
+// at burnout still sees full thrust at its last stage.
+public class TrajectoryModel implements OdeSystem {
+
+    public static final int X = 0;
+    public static final int Y = 1;
+    public static final int VX = 2;
+    public static final int VY = 3;
+    public static final int MASS = 4;
+    public static final int SIZE = 5;
+
+    public static final double G0 = 9.80665;                // m/s^2
+    static final double EARTH_RADIUS = 6_371_000.0;         // m
+    static final double SEA_LEVEL_DENSITY = 1.225;          // kg/m^3
+    static final double SCALE_HEIGHT = 8_500.0;             // m
+
+    private final LaunchConfig config;
+
+    // Set by seed(); plain fields so derivatives() only does arithmetic
+    double thrust;          // N
+    double massFlow;        // kg/s while burning
+    double dryMass;         // kg
+    double burnTime;        // s from ignition
+    double cosLaunch;
+    double sinLaunch;
+    double dragFactor;      // 0.5 * Cd * A
+    double wind;            // m/s, + blows downrange
+    boolean burning;
+
+    public TrajectoryModel(LaunchConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public int dimension() {
+        return SIZE;
+    }
+
+    // Sets up a vehicle (SI units) and writes its state at ignition into state
+    public void seed(double liftoffMass, double thrustNewtons, double[] state) {
+        if (!(liftoffMass > 0)) throw new IllegalArgumentException("Mass must be positive to simulate a flight.");
+        if (!(thrustNewtons >= 0)) throw new IllegalArgumentException("Thrust cannot be negative.");
+
+        double angle = Math.toRadians(config.launchAngle);
+        thrust = thrustNewtons;
+        massFlow = thrustNewtons / (config.specificImpulse * G0);
+        dryMass = liftoffMass * (1.0 - config.propellantFraction);
+        burnTime = (massFlow > 0) ? (liftoffMass - dryMass) / massFlow : 0;
+        cosLaunch = Math.cos(angle);
+        sinLaunch = Math.sin(angle);
+        dragFactor = 0.5 * config.dragCoefficient * config.referenceArea;
+        wind = config.wind;
+        burning = burnTime > 0;
+
+        state[X] = 0;
+        state[Y] = 0;
+        state[VX] = 0;
+        state[VY] = 0;
+        state[MASS] = liftoffMass;
+    }
+
+    // Seconds after ignition at which the vertical thrust first exceeds the weight
+    // on the pad (mass drops while it waits), or NaN if that never happens before
+    // burnout. 0 when it lifts off straight away.
+    public double liftoffTime(double liftoffMass) {
+        double verticalThrust = thrust * sinLaunch;
+        if (verticalThrust > liftoffMass * G0) return 0;
+
+        double massAtLiftoff = verticalThrust / G0;
+        if (massFlow <= 0 || massAtLiftoff <= dryMass) return Double.NaN;
+        return (liftoffMass - massAtLiftoff) / massFlow;
+    }
+
+    // Dynamic pressure 0.5 * rho * airspeed^2 (Pa)
+    public double dynamicPressure(double[] y) {
+        double ux = y[VX] - wind;
+        double uy = y[VY];
+        return 0.5 * density(y[Y]) * (ux * ux + uy * uy);
+    }
+
+    // d/dt of dynamicPressure, given the derivatives at y: zero at max-Q
+    public double dynamicPressureRate(double[] y, double[] dydt) {
+        double ux = y[VX] - wind;
+        double uy = y[VY];
+        double rho = density(y[Y]);
+        double rhoRate = (y[Y] > 0) ? -rho * uy / SCALE_HEIGHT : 0;
+        return 0.5 * rhoRate * (ux * ux + uy * uy) + rho * (ux * dydt[VX] + uy * dydt[VY]);
+    }
+
+    private static double density(double altitude) {
+        return SEA_LEVEL_DENSITY * Math.exp(-Math.max(altitude, 0.0) / SCALE_HEIGHT);
+    }
+
+    @Override
+    public void derivatives(double t, double[] y, double[] dydt) {
+        double vx = y[VX];
+        double vy = y[VY];
+        double m = y[MASS];
+        double altitude = Math.max(y[Y], 0.0);
+
+        double r = EARTH_RADIUS / (EARTH_RADIUS + altitude);
+        double ax = 0;
+        double ay = -G0 * r * r;
+        double dm = 0;
+
+        if (burning) {
+            double a = thrust / m;
+            ax += a * cosLaunch;
+            ay += a * sinLaunch;
+            dm = -massFlow;
+        }
+
+        if (dragFactor > 0) {
+            double ux = vx - wind;
+            double k = dragFactor * density(altitude) * Math.sqrt(ux * ux + vy * vy) / m;
+            ax -= k * ux;
+            ay -= k * vy;
+        }
+
+        dydt[X] = vx;
+        dydt[Y] = vy;
+        dydt[VX] = ax;
+        dydt[VY] = ay;
+        dydt[MASS] = dm;
+    }
+}
@@ -0,0 +1,99 @@
+package simulation;
+
+// Summary of one simulated flight. Distances in metres, times in seconds after
+// ignition, pressure in pascals.
+public class TrajectoryResult {
+
+    private final boolean liftedOff;
+    private final boolean landed;
+    private final double apogee;
+    private final double apogeeTime;
+    private final double range;
+    private final double liftoffTime;
+    private final double burnoutTime;
+    private final double impactTime;
+    private final double maxDynamicPressure;
+    private final double maxDynamicPressureTime;
+    private final long steps;
+
+    TrajectoryResult(boolean liftedOff, boolean landed, double apogee, double apogeeTime, double range,
+                     double liftoffTime, double burnoutTime, double impactTime,
+                     double maxDynamicPressure, double maxDynamicPressureTime, long steps) {
+        this.liftedOff = liftedOff;
+        this.landed = landed;
+        this.apogee = apogee;
+        this.apogeeTime = apogeeTime;
+        this.range = range;
+        this.liftoffTime = liftoffTime;
+        this.burnoutTime = burnoutTime;
+        this.impactTime = impactTime;
+        this.maxDynamicPressure = maxDynamicPressure;
+        this.maxDynamicPressureTime = maxDynamicPressureTime;
+        this.steps = steps;
+    }
+
+    // Thrust never beat the weight: the engine burned out on the pad
+    static TrajectoryResult grounded(double burnoutTime) {
+        return new TrajectoryResult(false, false, 0, Double.NaN, 0, Double.NaN, burnoutTime, Double.NaN,
+                0, Double.NaN, 0);
+    }
+
+    public boolean hasLiftedOff() {
+        return liftedOff;
+    }
+
+    // False if the run hit LaunchConfig.maxFlightTime first (range is then the
+    // distance covered so far)
+    public boolean hasLanded() {
+        return landed;
+    }
+
+    public double getApogee() {
+        return apogee;
+    }
+
+    public double getApogeeTime() {
+        return apogeeTime;
+    }
+
+    public double getRange() {
+        return range;
+    }
+
+    public double getLiftoffTime() {
+        return liftoffTime;
+    }
+
+    public double getBurnoutTime() {
+        return burnoutTime;
+    }
+
+    public double getImpactTime() {
+        return impactTime;
+    }
+
+    // Liftoff to ground impact (NaN if it never lifted off or didn't land in time)
+    public double getTimeOfFlight() {
+        return impactTime - liftoffTime;
+    }
+
+    // Highest 0.5 * rho * v^2 over the whole flight (ascent or re-entry)
+    public double getMaxDynamicPressure() {
+        return maxDynamicPressure;
+    }
+
+    public double getMaxDynamicPressureTime() {
+        return maxDynamicPressureTime;
+    }
+
+    // Integrator steps taken (accepted steps for the adaptive integrator)
+    public long getStepCount() {
+        return steps;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("apogee %.1f m, range %.1f m, burnout %.2f s, flight %.2f s, max-Q %.0f Pa, %d steps",
+                apogee, range, burnoutTime, getTimeOfFlight(), maxDynamicPressure, steps);
+    }
+}
@@ -0,0 +1,90 @@
+package simulation;
+
+import model.Rocket;
+
+// Flies a Rocket (seeded from its mass and thrust) with fixed-step RK4 and
+// reports apogee, range, burnout time and time of flight. Apogee and max-Q are
+// the best seen at step ends (see AdaptiveTrajectorySimulator for located ones).
+// The state vector and the integrator's stage buffers are allocated once per
+// simulator, so the step loop allocates nothing; reuse one simulator for many
+// runs. Not thread-safe: use one simulator per thread.
+public class TrajectorySimulator {
+
+    private final LaunchConfig config;
+    private final TrajectoryModel model;
+    private final Rk4Integrator integrator;
+    private final double[] state = new double[TrajectoryModel.SIZE];
+
+    public TrajectorySimulator() {
+        this(new LaunchConfig());
+    }
+
+    public TrajectorySimulator(LaunchConfig config) {
+        this.config = config;
+        this.model = new TrajectoryModel(config);
+        this.integrator = new Rk4Integrator(TrajectoryModel.SIZE);
+    }
+
+    public TrajectoryResult simulate(Rocket rocket) {
+        return simulate(rocket.getMass() * config.massUnit, rocket.getThrust() * config.thrustUnit);
+    }
+
+    // SI units: kg and N
+    public TrajectoryResult simulate(double liftoffMass, double thrust) {
+        model.seed(liftoffMass, thrust, state);
+        double burnTime = model.burnTime;
+
+        // Nothing moves on the pad, so start integrating at liftoff with the mass left by then
+        double t = model.liftoffTime(liftoffMass);
+        if (Double.isNaN(t)) return TrajectoryResult.grounded(burnTime);
+        double liftoff = t;
+        state[TrajectoryModel.MASS] = liftoffMass - model.massFlow * t;
+
+        double dt = config.timeStep;
+        double apogee = 0;
+        double apogeeTime = t;
+        double maxQ = 0;
+        double maxQTime = t;
+        long steps = 0;
+
+        while (t < config.maxFlightTime) {
+            // Land the step exactly on burnout so thrust never leaks into the coast
+            boolean cutoff = model.burning && t + dt >= burnTime;
+            double h = cutoff ? burnTime - t : dt;
+
+            double prevT = t;
+            double prevX = state[TrajectoryModel.X];
+            double prevY = state[TrajectoryModel.Y];
+
+            integrator.step(model, t, state, h);
+            t = cutoff ? burnTime : t + h;
+            steps++;
+            if (cutoff) {
+                model.burning = false;
+            }
+
+            double y = state[TrajectoryModel.Y];
+            if (y > apogee) {
+                apogee = y;
+                apogeeTime = t;
+            }
+            double q = model.dynamicPressure(state);
+            if (q > maxQ) {
+                maxQ = q;
+                maxQTime = t;
+            }
+
+            if (y < 0) {
+                // Crossed the ground during this step: interpolate the impact point
+                double f = prevY / (prevY - y);
+                double impact = prevT + f * (t - prevT);
+                double range = prevX + f * (state[TrajectoryModel.X] - prevX);
+                return new TrajectoryResult(true, true, apogee, apogeeTime, range, liftoff, burnTime, impact,
+                        maxQ, maxQTime, steps);
+            }
+        }
+
+        return new TrajectoryResult(true, false, apogee, apogeeTime, state[TrajectoryModel.X], liftoff, burnTime,
+                Double.NaN, maxQ, maxQTime, steps);
+    }
+}
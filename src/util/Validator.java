@@ -1,10 +1,12 @@
 package util;
 
+import model.RocketStatus;
+
 public class Validator {
 
-    // Guideline year message style
-    private static final int MIN_YEAR = 1000;
-    private static final int MAX_YEAR = 2025;
+    // Guideline year message style (also the bucket range for year counting sort)
+    public static final int MIN_YEAR = 1000;
+    public static final int MAX_YEAR = 2025;
 
     public static String validateRocketID(String id) {
         if (id == null || id.trim().isEmpty()) {
@@ -22,28 +24,43 @@ public class Validator {
 
     public static Integer parseAndValidateLaunchYear(String yearText) throws NumberFormatException {
         int year = Integer.parseInt(yearText.trim());
-        if (year < MIN_YEAR || year > MAX_YEAR) {
-            throw new IllegalArgumentException("Launch Year must be a number between " + MIN_YEAR + " and " + MAX_YEAR + ".");
+        String error = validateLaunchYear(year);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
         return year;
     }
 
     public static Double parseAndValidateNonNegativeDouble(String text, String fieldName) throws NumberFormatException {
         double value = Double.parseDouble(text.trim());
-        if (value < 0) {
-            throw new IllegalArgumentException(fieldName + " cannot be negative.");
+        String error = validateNonNegative(value, fieldName);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
         return value;
     }
 
+    // Checks for values that were already parsed (bulk import reads numbers itself)
+    public static String validateLaunchYear(int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return "Launch Year must be a number between " + MIN_YEAR + " and " + MAX_YEAR + ".";
+        }
+        return null;
+    }
+
+    public static String validateNonNegative(double value, String fieldName) {
+        if (value < 0) {
+            return fieldName + " cannot be negative.";
+        }
+        return null;
+    }
+
     public static String validateStatus(String status) {
         if (status == null || status.trim().isEmpty()) {
             return "Status must be selected.";
         }
         // Must be one of the allowed statuses you already use
-        if (!(status.equalsIgnoreCase("Active") ||
-              status.equalsIgnoreCase("Inactive") ||
-              status.equalsIgnoreCase("Testing"))) {
+        if (RocketStatus.fromString(status) == null) {
             return "Status must be Active, Inactive, or Testing.";
         }
         return null;
@@ -0,0 +1,75 @@
+package view;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import javax.swing.table.AbstractTableModel;
+import model.Rocket;
+
+// Rockets table backed directly by a list: cells are read from the rockets when
+// painted instead of being copied into a row Vector each, so showing a large
+// (or lazily paged) list costs nothing up front. Same columns as the form's model.
+@SuppressWarnings("serial")   // Swing models are never serialized here
+public class RocketTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = {
+        "Rocket ID", "Rocket Name", "Country", "Mass (kg)", "Thrust (kN)", "Status", "Launch Year"
+    };
+
+    private static final Class<?>[] TYPES = {
+        Integer.class, String.class, String.class, Double.class, Double.class, String.class, Integer.class
+    };
+
+    private List<Rocket> rockets = List.of();
+
+    public void setRockets(List<Rocket> rockets) {
+        this.rockets = rockets;
+        fireTableDataChanged();
+    }
+
+    // The list shown (never modified here)
+    public List<Rocket> getRockets() {
+        return rockets;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rockets.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return TYPES[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Rocket r;
+        try {
+            r = rockets.get(row);
+        } catch (ConcurrentModificationException ex) {
+            // A live inventory view that went stale: blank until the next refresh
+            return null;
+        }
+        return switch (column) {
+            case 0 -> r.getRocketID();
+            case 1 -> r.getRocketName();
+            case 2 -> r.getCountry();
+            case 3 -> r.getMass();
+            case 4 -> r.getThrust();
+            case 5 -> r.getStatus();
+            default -> r.getLaunchYear();
+        };
+    }
+}